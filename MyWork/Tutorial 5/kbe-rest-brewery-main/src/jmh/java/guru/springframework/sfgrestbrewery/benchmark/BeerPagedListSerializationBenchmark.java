@@ -0,0 +1,58 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of building and writing a default size listing page with an ObjectMapper configured like Boot's.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeerPagedListSerializationBenchmark {
+
+    private BeerMapper beerMapper;
+    private ObjectMapper objectMapper;
+    private List<Beer> beers;
+    private BeerPagedList page;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        beerMapper = BenchmarkData.beerMapper();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        beers = IntStream.range(0, BenchmarkData.PAGE_SIZE).mapToObj(BenchmarkData::beer).collect(Collectors.toList());
+        page = mapPage();
+        json = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public BeerPagedList mapPage() {
+        List<BeerDto> content = beers.stream().map(beerMapper::beerToBeerDto).collect(Collectors.toList());
+        return new BeerPagedList(content, PageRequest.of(0, BenchmarkData.PAGE_SIZE), 1000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public BeerPagedList deserializePage() throws Exception {
+        return objectMapper.readValue(json, BeerPagedList.class);
+    }
+}
@@ -0,0 +1,45 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.domain.TimeOrderedUuidGenerator;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapperImpl;
+import guru.springframework.sfgrestbrewery.web.mappers.DateMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+/**
+ * Fixtures shared by the benchmarks, built without a Spring context.
+ */
+final class BenchmarkData {
+
+    static final int PAGE_SIZE = 25;
+
+    private BenchmarkData() {
+    }
+
+    static BeerMapper beerMapper() {
+        BeerMapperImpl beerMapper = new BeerMapperImpl();
+        ReflectionTestUtils.setField(beerMapper, "dateMapper", new DateMapper());
+        return beerMapper;
+    }
+
+    static Beer beer(int i) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        return Beer.builder()
+                .id(TimeOrderedUuidGenerator.nextUuid())
+                .version(1L)
+                .beerName("Benchmark Beer " + i)
+                .beerStyle(BeerStyleEnum.values()[i % BeerStyleEnum.values().length])
+                .upc(String.format("%013d", i))
+                .price(new BigDecimal("12.95"))
+                .quantityOnHand(i * 10)
+                .createdDate(now)
+                .lastModifiedDate(now)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.mappers.DateMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one beer to its DTO and of the timestamp conversions it uses. Run with -prof gc
+ * (the jmh profile does) to see allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private BeerMapper beerMapper;
+    private DateMapper dateMapper;
+    private Beer beer;
+    private Timestamp timestamp;
+    private OffsetDateTime offsetDateTime;
+
+    @Setup
+    public void setUp() {
+        beerMapper = BenchmarkData.beerMapper();
+        dateMapper = new DateMapper();
+        beer = BenchmarkData.beer(1);
+        timestamp = beer.getCreatedDate();
+        offsetDateTime = dateMapper.asOffsetDateTime(timestamp);
+    }
+
+    @Benchmark
+    public BeerDto beerToBeerDto() {
+        return beerMapper.beerToBeerDto(beer);
+    }
+
+    @Benchmark
+    public BeerDto beerToBeerDtoWithInventory() {
+        return beerMapper.beerToBeerDtoWithInventory(beer);
+    }
+
+    @Benchmark
+    public OffsetDateTime asOffsetDateTime() {
+        return dateMapper.asOffsetDateTime(timestamp);
+    }
+
+    @Benchmark
+    public Timestamp asTimestamp() {
+        return dateMapper.asTimestamp(offsetDateTime);
+    }
+}
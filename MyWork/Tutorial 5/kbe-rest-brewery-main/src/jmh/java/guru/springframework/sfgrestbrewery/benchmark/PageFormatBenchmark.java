@@ -0,0 +1,88 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Encode and decode cost of a listing page per wire format. The payload size of each format is
+ * printed once per trial.
+ *
+ * json-pagedlist is the legacy PageImpl shape, the others use the compact BeerPage envelope.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageFormatBenchmark {
+
+    @Param({"json-pagedlist", "json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private Object page;
+    private JavaType pageType;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        BeerMapper beerMapper = BenchmarkData.beerMapper();
+        List<BeerDto> content = IntStream.range(0, BenchmarkData.PAGE_SIZE)
+                .mapToObj(i -> beerMapper.beerToBeerDto(BenchmarkData.beer(i)))
+                .collect(Collectors.toList());
+        BeerPagedList pagedList = new BeerPagedList(content, PageRequest.of(0, BenchmarkData.PAGE_SIZE), 1000);
+
+        switch (format) {
+            case "json-pagedlist":
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+                page = pagedList;
+                break;
+            case "json":
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+                page = BeerPage.of(pagedList);
+                break;
+            case "cbor":
+                objectMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+                page = BeerPage.of(pagedList);
+                break;
+            case "smile":
+                objectMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+                page = BeerPage.of(pagedList);
+                break;
+            default:
+                throw new IllegalArgumentException(format);
+        }
+
+        pageType = page instanceof BeerPagedList
+                ? objectMapper.constructType(BeerPagedList.class)
+                : objectMapper.getTypeFactory().constructParametricType(BeerPage.class, BeerDto.class);
+        payload = objectMapper.writeValueAsBytes(page);
+
+        System.out.println(format + " payload: " + payload.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return objectMapper.readValue(payload, pageType);
+    }
+}
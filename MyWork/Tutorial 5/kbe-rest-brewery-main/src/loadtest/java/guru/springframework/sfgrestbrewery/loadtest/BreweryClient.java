@@ -0,0 +1,147 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues the load test operations against a running brewery. Reads and updates pick their target from the
+ * beers present when the run started; saves create new beers with UPCs that cannot collide with those.
+ */
+class BreweryClient {
+
+    private static final int LIST_PAGE_SIZE = 25;
+    private static final int SEED_PAGE_SIZE = 1000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final List<BeerDto> beers = new ArrayList<>();
+    private final AtomicLong savedBeers = new AtomicLong();
+    private long totalBeers;
+
+    BreweryClient(URI baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Loads the first page of the catalogue as targets for get, getByUpc and update.
+     */
+    void loadTargets() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(get("api/v1/beer?pageSize=" + SEED_PAGE_SIZE),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing the catalogue returned " + response.statusCode());
+        }
+
+        JsonNode page = objectMapper.readTree(response.body());
+        for (JsonNode beer : page.get("content")) {
+            beers.add(objectMapper.treeToValue(beer, BeerDto.class));
+        }
+        totalBeers = page.get("totalElements").asLong();
+
+        if (beers.isEmpty()) {
+            throw new IllegalStateException("The catalogue is empty, nothing to read");
+        }
+    }
+
+    int targetCount() {
+        return beers.size();
+    }
+
+    /**
+     * Sends one request and returns its HTTP status.
+     */
+    int execute(Operation operation, SplittableRandom random) throws IOException, InterruptedException {
+        HttpRequest request;
+
+        switch (operation) {
+            case LIST:
+                long pages = Math.max(1, totalBeers / LIST_PAGE_SIZE);
+                request = get("api/v1/beer?pageSize=" + LIST_PAGE_SIZE + "&pageNumber=" + random.nextLong(pages));
+                break;
+            case GET:
+                request = get("api/v1/beer/" + target(random).getId());
+                break;
+            case GET_BY_UPC:
+                request = get("api/v1/beerUpc/" + target(random).getUpc());
+                break;
+            case SAVE:
+                request = send("POST", "api/v1/beer", newBeer(random));
+                break;
+            case UPDATE:
+                BeerDto beer = target(random);
+                request = send("PUT", "api/v1/beer/" + beer.getId(), changedBeer(beer, random));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private BeerDto target(SplittableRandom random) {
+        return beers.get(random.nextInt(beers.size()));
+    }
+
+    private BeerDto newBeer(SplittableRandom random) {
+        BeerStyleEnum[] styles = BeerStyleEnum.values();
+        long number = savedBeers.incrementAndGet();
+
+        return BeerDto.builder()
+                .beerName("Load Test Beer " + number)
+                .beerStyle(styles[random.nextInt(styles.length)].name())
+                .upc(String.format("3%012d", number))
+                .price(price(random))
+                .build();
+    }
+
+    private BeerDto changedBeer(BeerDto beer, SplittableRandom random) {
+        //id, version and dates are read only over the API
+        return BeerDto.builder()
+                .beerName(beer.getBeerName())
+                .beerStyle(beer.getBeerStyle())
+                .upc(beer.getUpc())
+                .price(price(random))
+                .build();
+    }
+
+    private static BigDecimal price(SplittableRandom random) {
+        return BigDecimal.valueOf(500 + random.nextInt(2000), 2);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, BeerDto beer) throws IOException {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(beer)))
+                .build();
+    }
+}
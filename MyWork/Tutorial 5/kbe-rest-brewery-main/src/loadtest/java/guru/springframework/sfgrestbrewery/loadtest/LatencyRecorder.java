@@ -0,0 +1,59 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms in microseconds, plus error counts. Safe to record into from any number
+ * of threads.
+ */
+class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        recorders.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    /**
+     * Drops everything recorded so far, used to discard the warmup.
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Histograms of everything recorded since the last reset or snapshot.
+     */
+    Map<Operation, Histogram> snapshot() {
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+}
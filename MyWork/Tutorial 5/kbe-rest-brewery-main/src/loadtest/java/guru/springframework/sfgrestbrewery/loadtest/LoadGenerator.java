@@ -0,0 +1,94 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the operation mix against the brewery in closed or open loop, see {@link LoadTestSettings.Mode}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class LoadGenerator {
+
+    private final BreweryClient client;
+    private final LoadTestSettings settings;
+    private final LatencyRecorder recorder;
+    private final SplittableRandom random;
+
+    void run(Duration duration) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getConcurrency());
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try {
+            if (settings.getMode() == LoadTestSettings.Mode.CLOSED) {
+                runClosed(workers, deadline);
+            } else {
+                runOpen(workers, deadline);
+            }
+        } finally {
+            workers.shutdown();
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Requests still outstanding a minute after the run ended, abandoning them");
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    private void runClosed(ExecutorService workers, long deadline) {
+        for (int i = 0; i < settings.getConcurrency(); i++) {
+            SplittableRandom workerRandom = random.split();
+
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    call(settings.getMix().next(workerRandom), workerRandom, System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private void runOpen(ExecutorService workers, long deadline) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.getRate();
+        long start = System.nanoTime();
+
+        for (long n = 0; ; n++) {
+            long intendedStart = start + n * interval;
+            if (intendedStart >= deadline) {
+                return;
+            }
+
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = settings.getMix().next(random);
+            SplittableRandom requestRandom = random.split();
+
+            //a request waiting for a free worker is already late, that time counts towards its latency
+            workers.execute(() -> call(operation, requestRandom, intendedStart));
+        }
+    }
+
+    private void call(Operation operation, SplittableRandom requestRandom, long startNanos) {
+        try {
+            int status = client.execute(operation, requestRandom);
+            recorder.record(operation, System.nanoTime() - startNanos);
+
+            if (status >= 400) {
+                recorder.recordError(operation);
+            }
+        } catch (IOException e) {
+            recorder.recordError(operation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
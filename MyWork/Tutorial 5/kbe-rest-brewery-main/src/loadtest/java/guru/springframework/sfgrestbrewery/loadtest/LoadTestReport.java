@@ -0,0 +1,118 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one run, written as report.json. A previous report can be passed back in as the baseline to
+ * compare against.
+ */
+@Data
+@NoArgsConstructor
+class LoadTestReport {
+
+    private String mode;
+    private int concurrency;
+    private Integer rate;
+    private String mix;
+    private long seed;
+    private String profiles;
+    private double measuredSeconds;
+    private Map<String, OperationStats> operations = new LinkedHashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    static class OperationStats {
+        private long count;
+        private long errors;
+        private double throughput;
+        private double p50Ms;
+        private double p90Ms;
+        private double p99Ms;
+        private double p999Ms;
+        private double maxMs;
+    }
+
+    static LoadTestReport of(LoadTestSettings settings, Map<Operation, Histogram> histograms,
+                             LatencyRecorder recorder, Duration measured) {
+        LoadTestReport report = new LoadTestReport();
+        report.setMode(settings.getMode().name().toLowerCase());
+        report.setConcurrency(settings.getConcurrency());
+        report.setRate(settings.getMode() == LoadTestSettings.Mode.OPEN ? settings.getRate() : null);
+        report.setMix(settings.getMix().toString());
+        report.setSeed(settings.getSeed());
+        report.setProfiles(settings.getProfiles());
+        report.setMeasuredSeconds(measured.toMillis() / 1000.0);
+
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0 && recorder.errors(operation) == 0) {
+                return;
+            }
+
+            OperationStats stats = new OperationStats();
+            stats.setCount(histogram.getTotalCount());
+            stats.setErrors(recorder.errors(operation));
+            stats.setThroughput(round(histogram.getTotalCount() / report.getMeasuredSeconds()));
+            stats.setP50Ms(millis(histogram.getValueAtPercentile(50)));
+            stats.setP90Ms(millis(histogram.getValueAtPercentile(90)));
+            stats.setP99Ms(millis(histogram.getValueAtPercentile(99)));
+            stats.setP999Ms(millis(histogram.getValueAtPercentile(99.9)));
+            stats.setMaxMs(millis(histogram.getMaxValue()));
+            report.getOperations().put(operation.key(), stats);
+        });
+
+        return report;
+    }
+
+    /**
+     * Operations whose p50 or p99 got worse than the baseline by more than the tolerance, e.g. 0.10 for 10%.
+     * Operations missing from either report are not compared.
+     */
+    List<String> regressionsAgainst(LoadTestReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+
+        operations.forEach((operation, current) -> {
+            OperationStats previous = baseline.getOperations().get(operation);
+            if (previous == null) {
+                return;
+            }
+
+            if (current.getP50Ms() > previous.getP50Ms() * (1 + tolerance)) {
+                regressions.add(String.format("%s p50 %.3f ms, baseline %.3f ms", operation,
+                        current.getP50Ms(), previous.getP50Ms()));
+            }
+            if (current.getP99Ms() > previous.getP99Ms() * (1 + tolerance)) {
+                regressions.add(String.format("%s p99 %.3f ms, baseline %.3f ms", operation,
+                        current.getP99Ms(), previous.getP99Ms()));
+            }
+        });
+
+        return regressions;
+    }
+
+    String toTable() {
+        StringBuilder sb = new StringBuilder(String.format("%-10s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        operations.forEach((operation, stats) -> sb.append(String.format("%-10s %9d %7d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                operation, stats.getCount(), stats.getErrors(), stats.getThroughput(), stats.getP50Ms(),
+                stats.getP90Ms(), stats.getP99Ms(), stats.getP999Ms(), stats.getMaxMs())));
+
+        return sb.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
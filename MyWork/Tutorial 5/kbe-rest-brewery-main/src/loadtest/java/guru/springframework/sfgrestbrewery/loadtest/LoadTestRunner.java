@@ -0,0 +1,113 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import guru.springframework.sfgrestbrewery.KbeRestBrewery;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StringUtils;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Starts the brewery on a random port, drives it with {@link LoadGenerator} and writes report.json plus one
+ * HdrHistogram percentile distribution (.hgrm) per operation to the report directory.
+ *
+ * Exits with status 1 when a baseline report is given and an operation regressed beyond the tolerance.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build()
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        SpringApplicationBuilder application = new SpringApplicationBuilder(KbeRestBrewery.class)
+                //per request debug logging would end up in the measurements
+                .properties("server.port=0", "logging.level.guru.springframework.sfgrestbrewery=info");
+        if (StringUtils.hasText(settings.getProfiles())) {
+            application.profiles(StringUtils.commaDelimitedListToStringArray(settings.getProfiles()));
+        }
+
+        LoadTestReport report;
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            BreweryClient client = new BreweryClient(URI.create("http://localhost:" + port + "/"), objectMapper);
+            client.loadTargets();
+
+            log.info("Load test: {} loop, concurrency {}{}, mix {}, {} target beers", settings.getMode(),
+                    settings.getConcurrency(),
+                    settings.getMode() == LoadTestSettings.Mode.OPEN ? ", " + settings.getRate() + " req/s" : "",
+                    settings.getMix(), client.targetCount());
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            LoadGenerator generator = new LoadGenerator(client, settings, recorder, new SplittableRandom(settings.getSeed()));
+
+            if (!settings.getWarmup().isZero()) {
+                log.info("Warming up for {}", settings.getWarmup());
+                generator.run(settings.getWarmup());
+                recorder.reset();
+            }
+
+            log.info("Measuring for {}", settings.getDuration());
+            long start = System.nanoTime();
+            generator.run(settings.getDuration());
+            Duration measured = Duration.ofNanos(System.nanoTime() - start);
+
+            Map<Operation, Histogram> histograms = recorder.snapshot();
+            report = LoadTestReport.of(settings, histograms, recorder, measured);
+            write(settings.getReportDirectory(), histograms, report, objectMapper);
+        }
+
+        System.out.println();
+        System.out.print(report.toTable());
+        System.out.println("Report written to " + settings.getReportDirectory().toAbsolutePath());
+
+        if (settings.getBaseline() != null) {
+            LoadTestReport baseline = objectMapper.readValue(settings.getBaseline().toFile(), LoadTestReport.class);
+            List<String> regressions = report.regressionsAgainst(baseline, settings.getTolerance());
+
+            if (!regressions.isEmpty()) {
+                System.out.println("Regressions against " + settings.getBaseline() + ":");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                System.exit(1);
+            }
+            System.out.println("No regressions against " + settings.getBaseline());
+        }
+
+        System.exit(0);
+    }
+
+    private static void write(Path directory, Map<Operation, Histogram> histograms, LoadTestReport report,
+                              ObjectMapper objectMapper) throws Exception {
+        Files.createDirectories(directory);
+        objectMapper.writeValue(directory.resolve("report.json").toFile(), report);
+
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getTotalCount() == 0) {
+                continue;
+            }
+
+            try (PrintStream out = new PrintStream(directory.resolve(entry.getKey().key() + ".hgrm").toFile())) {
+                //recorded in microseconds, written in milliseconds
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from loadtest.* system properties. The loadtest Maven profile passes them
+ * through, so they can be overridden with -D on the mvn command line.
+ */
+@Value
+class LoadTestSettings {
+
+    enum Mode {
+        /**
+         * A fixed number of workers, each sending its next request as soon as the previous one returns.
+         */
+        CLOSED,
+        /**
+         * Requests are issued at a fixed rate whatever the response times. Latency is measured from the
+         * scheduled send time, so queueing behind a slow server shows up in the percentiles.
+         */
+        OPEN
+    }
+
+    Mode mode;
+    int concurrency;
+    int rate;
+    Duration warmup;
+    Duration duration;
+    OperationMix mix;
+    long seed;
+    String profiles;
+    Path reportDirectory;
+    Path baseline;
+    double tolerance;
+
+    static LoadTestSettings fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline", "");
+
+        return new LoadTestSettings(
+                Mode.valueOf(System.getProperty("loadtest.mode", "closed").trim().toUpperCase()),
+                Integer.parseInt(System.getProperty("loadtest.concurrency", "16")),
+                Integer.parseInt(System.getProperty("loadtest.rate", "500")),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s")),
+                OperationMix.parse(System.getProperty("loadtest.mix", "list:40,get:25,getByUpc:25,save:5,update:5")),
+                Long.parseLong(System.getProperty("loadtest.seed", "42")),
+                System.getProperty("loadtest.profiles", ""),
+                Paths.get(System.getProperty("loadtest.report-dir", "target/loadtest")),
+                StringUtils.hasText(baseline) ? Paths.get(baseline) : null,
+                Double.parseDouble(System.getProperty("loadtest.tolerance", "0.10")));
+    }
+}
@@ -0,0 +1,33 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * API calls the load generator can issue, keyed by the names used in loadtest.mix.
+ */
+enum Operation {
+
+    LIST("list"),
+    GET("get"),
+    GET_BY_UPC("getByUpc"),
+    SAVE("save"),
+    UPDATE("update");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + key
+                        + ", expected one of list, get, getByUpc, save, update"));
+    }
+}
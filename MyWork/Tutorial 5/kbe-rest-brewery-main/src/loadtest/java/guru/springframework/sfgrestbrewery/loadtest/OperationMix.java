@@ -0,0 +1,75 @@
+package guru.springframework.sfgrestbrewery.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice of the next operation, parsed from e.g. "list:40,get:25,getByUpc:25,save:5,update:5".
+ */
+final class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    static OperationMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split(":");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got " + entry);
+            }
+
+            int weight = Integer.parseInt(keyAndWeight[1].trim());
+            if (weight > 0) {
+                weights.merge(Operation.fromKey(keyAndWeight[0].trim()), weight, Integer::sum);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix " + mix + " has no positive weights");
+        }
+
+        return new OperationMix(weights);
+    }
+
+    Operation next(SplittableRandom random) {
+        int pick = random.nextInt(totalWeight);
+
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(operation.key()).append(':').append(weight);
+        });
+        return sb.toString();
+    }
+}
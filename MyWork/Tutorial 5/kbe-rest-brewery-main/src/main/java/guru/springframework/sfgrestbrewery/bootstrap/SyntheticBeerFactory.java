@@ -0,0 +1,104 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import guru.springframework.sfgrestbrewery.config.SyntheticCatalogueProperties;
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Builds synthetic beers. Beer n depends only on the seed and n, so a catalogue comes out identical
+ * however it is split into chunks or threads.
+ */
+class SyntheticBeerFactory {
+
+    private static final String[] ADJECTIVES = {
+            "Hazy", "Golden", "Dark", "Wild", "Old", "Crisp", "Juicy", "Smoky", "Bitter", "Velvet",
+            "Midnight", "Rusty", "Lucky", "Salty", "Sunny", "Frosty", "Double", "Imperial", "Little", "Red",
+            "Black", "Copper", "Amber", "Silver", "Hoppy", "Tart", "Mellow", "Electric", "Cosmic", "Barrel"
+    };
+
+    private static final String[] NOUNS = {
+            "Cat", "Dog", "Moose", "Goat", "Owl", "Fox", "Bear", "Wolf", "Pelican", "Otter",
+            "Anchor", "Harbor", "Mountain", "River", "Forest", "Comet", "Galaxy", "Lantern", "Compass", "Tide",
+            "Monk", "Pirate", "Farmer", "Baron", "Ghost", "Robot", "Wizard", "Sailor", "Miner", "Rider"
+    };
+
+    private final long seed;
+    private final BeerStyleEnum[] styles;
+    private final double[] styleCumulative;
+    private final double[] adjectiveCumulative;
+    private final double[] nounCumulative;
+
+    SyntheticBeerFactory(SyntheticCatalogueProperties properties) {
+        this.seed = properties.getSeed();
+
+        Map<BeerStyleEnum, Integer> weights = properties.getStyleWeights();
+        this.styles = weights.keySet().toArray(new BeerStyleEnum[0]);
+        this.styleCumulative = cumulative(weights.values().stream().mapToDouble(Integer::doubleValue).toArray());
+
+        this.adjectiveCumulative = cumulative(zipf(ADJECTIVES.length, properties.getNameSkew()));
+        this.nounCumulative = cumulative(zipf(NOUNS.length, properties.getNameSkew()));
+    }
+
+    List<Beer> chunk(long firstIndex, int size) {
+        List<Beer> beers = new ArrayList<>(size);
+
+        for (long index = firstIndex; index < firstIndex + size; index++) {
+            beers.add(beer(index));
+        }
+
+        return beers;
+    }
+
+    Beer beer(long index) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+
+        return Beer.builder()
+                .beerName(ADJECTIVES[pick(adjectiveCumulative, random)] + " " + NOUNS[pick(nounCumulative, random)])
+                .beerStyle(styles[pick(styleCumulative, random)])
+                //GS1 prefix 2 is reserved for in-store numbers, so these never collide with real UPCs
+                .upc(String.format("2%012d", index))
+                .price(BigDecimal.valueOf(100 + random.nextInt(9900), 2))
+                .quantityOnHand(random.nextInt(5000))
+                .build();
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+
+        for (int i = 0; i < cumulative.length; i++) {
+            if (target < cumulative[i]) {
+                return i;
+            }
+        }
+
+        return cumulative.length - 1;
+    }
+
+    private static double[] zipf(int size, double exponent) {
+        double[] weights = new double[size];
+
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        }
+
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+
+        return cumulative;
+    }
+}
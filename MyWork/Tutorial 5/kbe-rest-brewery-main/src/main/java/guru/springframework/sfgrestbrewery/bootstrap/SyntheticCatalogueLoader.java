@@ -0,0 +1,102 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import guru.springframework.sfgrestbrewery.config.SyntheticCatalogueProperties;
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the catalogue with sfg.brewery.synthetic.count generated beers for scale testing.
+ *
+ * Chunks of batch-size beers are generated and inserted in parallel, one transaction per chunk, and
+ * throughput is logged as they complete. Runs before BeerLoader, which then leaves the catalogue alone.
+ */
+@Slf4j
+@Profile("synthetic")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(SyntheticCatalogueProperties.class)
+@RequiredArgsConstructor
+@Component
+public class SyntheticCatalogueLoader implements CommandLineRunner {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final SyntheticCatalogueProperties properties;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long count = properties.getCount();
+        int batchSize = properties.getBatchSize();
+        SyntheticBeerFactory factory = new SyntheticBeerFactory(properties);
+
+        log.info("Generating {} beers with seed {} in chunks of {} on {} threads",
+                count, properties.getSeed(), batchSize, properties.getThreads());
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        AtomicLong written = new AtomicLong();
+        long started = System.nanoTime();
+
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+
+            for (long first = 0; first < count; first += batchSize) {
+                long firstIndex = first;
+                int size = (int) Math.min(batchSize, count - first);
+
+                chunks.add(executor.submit(() -> {
+                    insert(factory.chunk(firstIndex, size));
+                    progress(written.addAndGet(size), size, count, started);
+                }));
+            }
+
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Generated {} beers in {} ms ({} beers/s)", count, elapsedMillis(started), rate(count, started));
+    }
+
+    private void insert(List<Beer> beers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            beerRepository.saveAll(beers);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private void progress(long done, int size, long count, long started) {
+        //log every tenth of the way
+        if (done * 10 / count != (done - size) * 10 / count) {
+            log.info("Generated {}/{} beers ({} beers/s)", done, count, rate(done, started));
+        }
+    }
+
+    private static long elapsedMillis(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    private static long rate(long beers, long started) {
+        return beers * 1000 / Math.max(1, elapsedMillis(started));
+    }
+}
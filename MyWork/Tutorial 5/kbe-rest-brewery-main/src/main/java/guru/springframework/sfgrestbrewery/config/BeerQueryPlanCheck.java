@@ -0,0 +1,105 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Fails startup when H2 would answer one of BeerRepository's queries by scanning the beer table, keeping the
+ * migrations and the repository in step. Filtered queries must look rows up through an index condition, a full
+ * index scan counts as a scan. The unfiltered (beerName, id) ordering of the keyset scans and the export must
+ * be read in index order rather than sorted.
+ *
+ * The statements mirror what Hibernate generates for each query method, the select list aside.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "sfg.brewery.schema", name = "verify-query-plans", havingValue = "true")
+public class BeerQueryPlanCheck implements ApplicationRunner {
+
+    //H2 writes the access path as /* PUBLIC.INDEX_NAME: CONDITION */, or /* PUBLIC.BEER.tableScan */
+    private static final Pattern INDEX_CONDITION = Pattern.compile("/\\* PUBLIC\\.\\w+: ");
+    private static final String INDEX_SORTED = "/* index sorted */";
+
+    private static final Map<String, String> LOOKUPS = new LinkedHashMap<>();
+    private static final Map<String, String> ORDERED_SCANS = new LinkedHashMap<>();
+
+    static {
+        LOOKUPS.put("findByUpc", "select * from beer where upc = '0631234200036'");
+        LOOKUPS.put("findAllByUpcIn", "select * from beer where upc in ('0631234200036', '9122089364369')");
+        LOOKUPS.put("findAllByBeerName", "select * from beer where beer_name = 'Mango Bobs' limit 25");
+        LOOKUPS.put("findAllByBeerName count", "select count(id) from beer where beer_name = 'Mango Bobs'");
+        LOOKUPS.put("findAllByBeerStyle", "select * from beer where beer_style = 1 limit 25");
+        LOOKUPS.put("findAllByBeerStyle count", "select count(id) from beer where beer_style = 1");
+        LOOKUPS.put("findAllByBeerNameAndBeerStyle",
+                "select * from beer where beer_name = 'Mango Bobs' and beer_style = 1 limit 25");
+        LOOKUPS.put("findAllByBeerNameAndBeerStyle count",
+                "select count(id) from beer where beer_name = 'Mango Bobs' and beer_style = 1");
+        LOOKUPS.put("aggregateBeerStyle",
+                "select count(id), min(price), max(price), sum(price), sum(quantity_on_hand) from beer where beer_style = 1");
+        LOOKUPS.put("findKeysetFirstPage by style",
+                "select * from beer where beer_style = 1 order by beer_name, id limit 25");
+        LOOKUPS.put("findKeysetFirstPage by name",
+                "select * from beer where beer_name = 'Mango Bobs' order by beer_name, id limit 25");
+
+        ORDERED_SCANS.put("findKeysetFirstPage", "select * from beer order by beer_name, id limit 25");
+        ORDERED_SCANS.put("streamAllBy", "select * from beer order by beer_name, id");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName()));
+
+        if (!"H2".equals(database)) {
+            log.info("Skipping query plan check, it reads H2 plans and the database is {}", database);
+            return;
+        }
+
+        List<String> problems = new ArrayList<>();
+
+        LOOKUPS.forEach((query, sql) -> {
+            String plan = explain(sql);
+            if (!INDEX_CONDITION.matcher(plan).find()) {
+                problems.add(query + " scans the table: " + plan);
+            }
+        });
+
+        ORDERED_SCANS.forEach((query, sql) -> {
+            String plan = explain(sql);
+            if (!plan.contains(INDEX_SORTED)) {
+                problems.add(query + " sorts instead of reading in index order: " + plan);
+            }
+        });
+
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Beer queries without a matching index:\n" + String.join("\n", problems));
+        }
+
+        log.info("Query plan check passed for {} beer queries", LOOKUPS.size() + ORDERED_SCANS.size());
+    }
+
+    private String explain(String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        log.debug("Plan for {}: {}", sql, plan);
+        return plan.replaceAll("\\s+", " ");
+    }
+}
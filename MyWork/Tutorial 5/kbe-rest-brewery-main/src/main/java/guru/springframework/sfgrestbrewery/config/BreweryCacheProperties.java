@@ -0,0 +1,24 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine specs for the brewery caches, keyed by cache name.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sfg.brewery.cache")
+public class BreweryCacheProperties {
+
+    /**
+     * Spec used for any cache without its own entry in {@link #specs}.
+     */
+    private String defaultSpec = "maximumSize=500,expireAfterWrite=10m,recordStats";
+
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
@@ -0,0 +1,43 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bounded in-process caches backing the @Cacheable methods of the beer service.
+ *
+ * Caches are registered eagerly so actuator binds their hit/miss/eviction metrics at startup.
+ * Each cache coalesces concurrent misses for the same key, see {@link CoalescingCaffeineCache}.
+ */
+@EnableCaching
+@Configuration
+@EnableConfigurationProperties(BreweryCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(BreweryCacheProperties breweryCacheProperties, MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                //evictions from transactional writes wait for the commit, and the loads that follow read the primary,
+                //so neither a concurrent read nor a lagging replica can re-cache the old row
+                return new TransactionAwareCacheDecorator(
+                        new CoalescingCaffeineCache(name, cache, isAllowNullValues(), meterRegistry));
+            }
+        };
+        cacheManager.setCacheSpecification(breweryCacheProperties.getDefaultSpec());
+
+        breweryCacheProperties.getSpecs().forEach((cacheName, spec) ->
+                cacheManager.registerCustomCache(cacheName, Caffeine.from(spec).recordStats().build()));
+
+        return cacheManager;
+    }
+}
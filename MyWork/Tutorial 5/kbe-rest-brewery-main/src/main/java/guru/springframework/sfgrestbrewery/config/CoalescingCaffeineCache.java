@@ -0,0 +1,138 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caffeine cache whose synchronized get (@Cacheable(sync = true)) loads each missing key once.
+ *
+ * The first caller for a key runs the loader and concurrent callers for the same key wait on its
+ * result, or its exception. Unlike Caffeine's own compute, the load runs outside the cache's internal
+ * locks, so a slow query cannot stall unrelated keys. Callers that ran the loader and callers that
+ * joined one are counted in cache.loads, tagged result=loaded and result=coalesced. Loads read from the
+ * primary when read replicas are configured, see {@link PrimaryReads}.
+ *
+ * An evict or clear while a load is in flight invalidates that load: its value is still handed to the callers
+ * already waiting on it, but does not stay in the cache, and later callers start a new load. Otherwise a load
+ * that read the row before a write committed would put the old row back after the write's eviction.
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+    private final ConcurrentMap<Object, Load> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter loaded;
+    private final Counter coalesced;
+
+    public CoalescingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                   boolean allowNullValues, MeterRegistry meterRegistry) {
+        super(name, cache, allowNullValues);
+
+        this.loaded = Counter.builder("cache.loads").tag("cache", name).tag("result", "loaded")
+                .description("Cache misses that ran the loader").register(meterRegistry);
+        this.coalesced = Counter.builder("cache.loads").tag("cache", name).tag("result", "coalesced")
+                .description("Cache misses that waited on a load already in flight").register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        Load load = new Load();
+        Load existing = inFlight.putIfAbsent(key, load);
+
+        if (existing != null) {
+            coalesced.increment();
+
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            //a load may have completed between the lookup and registering this one
+            cached = get(key);
+
+            if (cached != null) {
+                load.complete(cached.get());
+                return (T) cached.get();
+            }
+
+            loaded.increment();
+
+            T value;
+
+            try {
+                value = PrimaryReads.call(valueLoader);
+            } catch (Throwable ex) {
+                load.completeExceptionally(ex);
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+
+            put(key, value);
+
+            //an eviction that raced the put has either removed the value already or flagged the load
+            if (load.invalidated) {
+                super.evict(key);
+            }
+
+            load.complete(value);
+
+            return value;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidate(inFlight.remove(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidate(inFlight.remove(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateInFlight();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidateInFlight();
+        return super.invalidate();
+    }
+
+    private void invalidateInFlight() {
+        inFlight.keySet().forEach(key -> invalidate(inFlight.remove(key)));
+    }
+
+    private static void invalidate(Load load) {
+        if (load != null) {
+            load.invalidated = true;
+        }
+    }
+
+    private static final class Load extends CompletableFuture<Object> {
+
+        private volatile boolean invalidated;
+    }
+}
@@ -0,0 +1,37 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Reads on the current thread that must not be served by a replica, see {@link ReplicaRoutingDataSource}.
+ *
+ * Used for loads that populate the caches: those are evicted when a write commits, and a replica that has
+ * not caught up with the write yet would put the old row back for the whole expiry.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Callable<T> call) throws Exception {
+        DEPTH.set(DEPTH.get() + 1);
+
+        try {
+            return call.call();
+        } finally {
+            int depth = DEPTH.get() - 1;
+
+            if (depth == 0) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(depth);
+            }
+        }
+    }
+
+    public static boolean active() {
+        return DEPTH.get() > 0;
+    }
+}
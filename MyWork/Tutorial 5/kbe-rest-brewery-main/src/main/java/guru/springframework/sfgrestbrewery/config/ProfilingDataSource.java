@@ -0,0 +1,211 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hands out connections whose statements report to a {@link SqlProfiler}: execution time and outcome of every
+ * execute call, rows read through the returned result sets and rows changed by updates and batches.
+ *
+ * Time spent fetching rows after execute returns is not included, the profile shows where the database is slow
+ * to answer rather than where the application is slow to read.
+ */
+public class ProfilingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final SqlProfiler sqlProfiler;
+
+    public ProfilingDataSource(DataSource targetDataSource, SqlProfiler sqlProfiler) {
+        super(targetDataSource);
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(super.getConnection(username, password));
+    }
+
+    /**
+     * Closes the target, this wrapper replaces the pool as the bean whose destroy method closes it.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable) {
+            ((AutoCloseable) getTargetDataSource()).close();
+        }
+    }
+
+    private Connection profiled(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        //a proxy only equals itself, callers comparing connections compare what they were handed
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(proxy, connection, method, args);
+
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, new StatementHandler((Statement) result, null));
+            }
+
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final Map<Integer, Object> bindParameters;
+        private SqlStatementStats lastExecuted;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.bindParameters = preparedSql != null && sqlProfiler.capturesBindParameters() ? new TreeMap<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+
+            if (bindParameters != null) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindParameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    bindParameters.clear();
+                }
+            }
+
+            Object result = ProfilingDataSource.invoke(proxy, statement, method, args);
+
+            if (result instanceof ResultSet && lastExecuted != null) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, lastExecuted));
+            }
+
+            return result;
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            if (sql == null) {
+                //executeBatch on a plain Statement, the individual statements are not tracked
+                return ProfilingDataSource.invoke(proxy, statement, method, args);
+            }
+
+            SqlStatementStats stats = sqlProfiler.statsFor(sql);
+            lastExecuted = stats;
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = ProfilingDataSource.invoke(proxy, statement, method, args);
+                failed = false;
+
+                if (result instanceof ResultSet) {
+                    return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, stats));
+                }
+                stats.addRows(updateCount(result));
+
+                return result;
+            } finally {
+                sqlProfiler.executed(stats, sql, System.nanoTime() - start, failed, bindParameters);
+            }
+        }
+
+        private long updateCount(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return ((Number) result).longValue();
+            }
+
+            long count = 0;
+            if (result instanceof int[]) {
+                for (int rows : (int[]) result) {
+                    count += Math.max(0, rows);
+                }
+            } else if (result instanceof long[]) {
+                for (long rows : (long[]) result) {
+                    count += Math.max(0, rows);
+                }
+            }
+            return count;
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final SqlStatementStats stats;
+
+        ResultSetHandler(ResultSet resultSet, SqlStatementStats stats) {
+            this.resultSet = resultSet;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(proxy, resultSet, method, args);
+
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                stats.addRows(1);
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read/write split, active once at least one replica is configured. Without replicas Boot's single
+ * pooled DataSource is used as before.
+ *
+ * Both pools report HikariCP metrics under their pool names, primary and replica-N.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "sfg.brewery.datasource", name = "replicas[0].url")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    /**
+     * The routing DataSource stays out of the context on purpose; a second DataSource bean would be picked up by
+     * Boot's DataSource initializer and JPA configuration. The lazy proxy defers fetching a connection until the
+     * first statement, by which point the transaction's read-only flag is known.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaDataSourceProperties replicaProperties,
+                                 MeterRegistry meterRegistry,
+                                 TaskScheduler taskScheduler) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricRegistry(meterRegistry);
+
+        Map<String, ReplicaTarget> replicas = new LinkedHashMap<>();
+
+        for (int i = 0; i < replicaProperties.getReplicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = replicaProperties.getReplicas().get(i);
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            //replicas usually share the primary's credentials
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            //a replica that is down must not stop the application from starting
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricRegistry(meterRegistry);
+
+            if (replica.isMigrate()) {
+                Flyway.configure()
+                        .dataSource(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword())
+                        .load()
+                        .migrate();
+            }
+
+            replicas.put(pool.getPoolName(), new ReplicaTarget(pool, replica.getLagQuery()));
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+                replicaProperties.getMaxReplicaLag().toMillis(), meterRegistry);
+
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.checkReplicas();
+        taskScheduler.scheduleWithFixedDelay(routingDataSource::checkReplicas, replicaProperties.getLagCheckInterval());
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+}
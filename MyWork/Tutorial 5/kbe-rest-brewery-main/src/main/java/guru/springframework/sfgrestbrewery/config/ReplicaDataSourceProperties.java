@@ -0,0 +1,59 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions. The primary stays configured through spring.datasource.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sfg.brewery.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas further behind than this are skipped, their reads go to another replica or the primary.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username.
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password.
+         */
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * Query returning how far the replica is behind, in milliseconds, e.g. for PostgreSQL
+         * "select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)".
+         * Without one the replica counts as current for as long as it answers.
+         */
+        private String lagQuery;
+
+        /**
+         * Runs the Flyway migrations against the replica at startup. Only for local stand-ins that nothing
+         * replicates into, a real replica gets its schema from the primary.
+         */
+        private boolean migrate;
+    }
+}
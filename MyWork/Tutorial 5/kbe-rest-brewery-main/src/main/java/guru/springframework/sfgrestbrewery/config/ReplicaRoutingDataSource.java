@@ -0,0 +1,164 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a usable replica, round robin, and everything else to the
+ * primary. A replica is usable while its last check answered and was within the allowed lag; with none
+ * usable, reads fall back to the primary. Reads inside {@link PrimaryReads#call} always go to the primary.
+ *
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * LazyConnectionDataSourceProxy that defers fetching the connection to the first statement.
+ * Connections are counted in datasource.routing.connections, tagged with the route and why it was taken.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter writes;
+    private final Counter fallbacks;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, ReplicaTarget> replicaTargets,
+                                    long maxLagMillis, MeterRegistry meterRegistry) {
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+
+        replicaTargets.forEach((name, target) -> {
+            targets.put(name, target.getDataSource());
+            replicas.add(new Replica(name, target, meterRegistry));
+        });
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.writes = connections(meterRegistry, PRIMARY, "write");
+        this.fallbacks = connections(meterRegistry, PRIMARY, "fallback");
+        this.primaryReads = connections(meterRegistry, PRIMARY, "primary-read");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+
+        if (PrimaryReads.active()) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, replicas.size()));
+
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+
+            if (replica.usable) {
+                replica.reads.increment();
+                return replica.name;
+            }
+        }
+
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Re-evaluates every replica. Called on a fixed delay, and once before the data source is used.
+     */
+    public void checkReplicas() {
+        replicas.forEach(replica -> replica.check(maxLagMillis));
+    }
+
+    /**
+     * Closes the pools behind this data source.
+     */
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) dataSource).close();
+            }
+        }
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String route, String reason) {
+        return Counter.builder("datasource.routing.connections")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final String lagQuery;
+        private final Counter reads;
+
+        private volatile boolean usable;
+        private volatile long lagMillis = -1;
+
+        Replica(String name, ReplicaTarget target, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = target.getDataSource();
+            this.lagQuery = target.getLagQuery();
+            this.reads = connections(meterRegistry, name, "read");
+
+            Gauge.builder("datasource.replica.lag", this, replica -> replica.lagMillis)
+                    .tag("replica", name)
+                    .description("Replication lag at the last check in milliseconds, -1 when unreachable")
+                    .register(meterRegistry);
+        }
+
+        void check(long maxLagMillis) {
+            boolean wasUsable = usable;
+
+            try (Connection connection = dataSource.getConnection()) {
+                lagMillis = lagQuery == null ? 0 : queryLag(connection);
+                usable = lagMillis <= maxLagMillis;
+            } catch (SQLException e) {
+                lagMillis = -1;
+                usable = false;
+            }
+
+            if (usable != wasUsable) {
+                log.info("Replica {} is now {} (lag {} ms)", name, usable ? "in use" : "skipped", lagMillis);
+            }
+        }
+
+        private long queryLag(Connection connection) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Lag query returned no row");
+                }
+
+                return (long) resultSet.getDouble(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.Value;
+
+import javax.sql.DataSource;
+
+/**
+ * A replica pool and the query measuring its lag, null when lag is not measured.
+ */
+@Value
+public class ReplicaTarget {
+
+    DataSource dataSource;
+
+    String lagQuery;
+}
@@ -0,0 +1,12 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background work such as the periodic inventory flush.
+ */
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+}
@@ -0,0 +1,43 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a {@link ProfilingDataSource}, including the routing one when read
+ * replicas are configured, and exposes the result as the sqlprofile actuator endpoint.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlProfileProperties.class)
+@ConditionalOnProperty(prefix = "sfg.brewery.sql-profile", name = "enabled", matchIfMissing = true)
+public class SqlProfileConfig {
+
+    @Bean
+    public SqlProfiler sqlProfiler(SqlProfileProperties sqlProfileProperties) {
+        return new SqlProfiler(sqlProfileProperties.getMaxStatements(), sqlProfileProperties.getSlowQueryThreshold());
+    }
+
+    @Bean
+    public SqlProfileEndpoint sqlProfileEndpoint(SqlProfiler sqlProfiler) {
+        return new SqlProfileEndpoint(sqlProfiler);
+    }
+
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource((DataSource) bean, sqlProfiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
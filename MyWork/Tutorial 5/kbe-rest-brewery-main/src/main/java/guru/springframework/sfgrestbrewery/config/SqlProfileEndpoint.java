@@ -0,0 +1,76 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * GET /actuator/sqlprofile lists the statements that took the most database time since startup or the last
+ * reset, ?limit=N (default 20) sets how many. DELETE /actuator/sqlprofile resets the profile.
+ */
+@Endpoint(id = "sqlprofile")
+@RequiredArgsConstructor
+public class SqlProfileEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlProfiler sqlProfiler;
+
+    @ReadOperation
+    public SqlProfile profile(@Nullable Integer limit) {
+        List<StatementProfile> statements = sqlProfiler.top(limit == null || limit < 1 ? DEFAULT_LIMIT : limit).stream()
+                .map(SqlProfileEndpoint::statementProfile)
+                .collect(Collectors.toList());
+
+        return new SqlProfile(sqlProfiler.getSince(), sqlProfiler.statementCount(), statements);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlProfiler.reset();
+    }
+
+    private static StatementProfile statementProfile(SqlStatementStats stats) {
+        Histogram latency = stats.latencyMicros();
+        long calls = stats.getCalls();
+        double totalMs = stats.getTotalNanos() / 1_000_000.0;
+
+        return new StatementProfile(stats.getSql(), calls, stats.getErrors(), stats.getRows(),
+                totalMs, calls == 0 ? 0 : totalMs / calls,
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(95)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    @Value
+    public static class SqlProfile {
+        Instant since;
+        int distinctStatements;
+        List<StatementProfile> statements;
+    }
+
+    @Value
+    public static class StatementProfile {
+        String sql;
+        long calls;
+        long errors;
+        long rows;
+        double totalMs;
+        double meanMs;
+        double p50Ms;
+        double p95Ms;
+        double p99Ms;
+        double maxMs;
+    }
+}
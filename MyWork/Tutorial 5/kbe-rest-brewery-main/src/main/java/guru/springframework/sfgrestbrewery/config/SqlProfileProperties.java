@@ -0,0 +1,29 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-statement SQL profiling, served on the sqlprofile actuator endpoint.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sfg.brewery.sql-profile")
+public class SqlProfileProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Distinct normalized statements tracked individually, the rest are counted together.
+     */
+    private int maxStatements = 500;
+
+    /**
+     * Statements taking at least this long are logged with their bind parameters. Unset disables the log
+     * and the bind parameter capture it needs.
+     */
+    private Duration slowQueryThreshold;
+}
@@ -0,0 +1,127 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Collects {@link SqlStatementStats} per normalized statement for the statements run through a
+ * {@link ProfilingDataSource}, and logs statements slower than the configured threshold with their bind parameters.
+ *
+ * Statements are normalized by replacing literals with ? and collapsing IN lists, so the same derived query
+ * lands in one entry whatever its arguments. Past maxStatements distinct statements, new ones are counted
+ * under {@link #OTHER_STATEMENTS}.
+ */
+@Slf4j
+public class SqlProfiler {
+
+    static final String OTHER_STATEMENTS = "<other statements>";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_BIND_VALUE_LENGTH = 100;
+
+    private final int maxStatements;
+    private final long slowQueryNanos;
+    private final Map<String, SqlStatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> normalizedSql = new ConcurrentHashMap<>();
+    private volatile Instant since = Instant.now();
+
+    /**
+     * @param slowQueryThreshold null to disable the slow query log and bind parameter capture
+     */
+    public SqlProfiler(int maxStatements, Duration slowQueryThreshold) {
+        this.maxStatements = maxStatements;
+        this.slowQueryNanos = slowQueryThreshold == null ? -1 : slowQueryThreshold.toNanos();
+    }
+
+    SqlStatementStats statsFor(String sql) {
+        String key = normalizedSql.get(sql);
+        if (key == null) {
+            key = normalize(sql);
+            //bounded, statements built with inline literals would otherwise grow it forever
+            if (normalizedSql.size() < maxStatements * 4) {
+                normalizedSql.put(sql, key);
+            }
+        }
+
+        SqlStatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+
+        return statements.computeIfAbsent(statements.size() < maxStatements ? key : OTHER_STATEMENTS, SqlStatementStats::new);
+    }
+
+    boolean capturesBindParameters() {
+        return slowQueryNanos >= 0;
+    }
+
+    void executed(SqlStatementStats stats, String sql, long nanos, boolean failed, Map<Integer, Object> bindParameters) {
+        stats.record(nanos, failed);
+
+        if (slowQueryNanos >= 0 && nanos >= slowQueryNanos) {
+            log.warn("Slow SQL ({} ms{}): {} {}", TimeUnit.NANOSECONDS.toMillis(nanos), failed ? ", failed" : "",
+                    sql, describe(bindParameters));
+        }
+    }
+
+    /**
+     * Statements by total time spent executing them, most expensive first.
+     */
+    List<SqlStatementStats> top(int limit) {
+        return statements.values().stream()
+                .sorted(Comparator.comparingLong(SqlStatementStats::getTotalNanos).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    int statementCount() {
+        return statements.size();
+    }
+
+    Instant getSince() {
+        return since;
+    }
+
+    void reset() {
+        statements.clear();
+        since = Instant.now();
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static String describe(Map<Integer, Object> bindParameters) {
+        if (bindParameters == null || bindParameters.isEmpty()) {
+            return "";
+        }
+
+        return bindParameters.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + describe(entry.getValue()))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof byte[]) {
+            return "<" + ((byte[]) value).length + " bytes>";
+        }
+
+        String text = String.valueOf(value);
+        return text.length() > MAX_BIND_VALUE_LENGTH ? text.substring(0, MAX_BIND_VALUE_LENGTH) + "..." : text;
+    }
+}
@@ -0,0 +1,74 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, row count and latency histogram of one normalized SQL statement.
+ *
+ * Executions record into a wait-free {@link Recorder}; readers fold its interval histogram into the running
+ * total under a lock. Both use packed storage, so a statement that always takes about as long costs a few
+ * hundred bytes rather than the full bucket array.
+ */
+class SqlStatementStats {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String sql;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS, true);
+    private final Histogram latencyMicros = new PackedHistogram(SIGNIFICANT_DIGITS);
+
+    SqlStatementStats(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long nanos, boolean failed) {
+        calls.increment();
+        totalNanos.add(nanos);
+        recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void addRows(long count) {
+        rows.add(count);
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    long getCalls() {
+        return calls.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getRows() {
+        return rows.sum();
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Copy of the latency histogram so far, in microseconds.
+     */
+    synchronized Histogram latencyMicros() {
+        latencyMicros.add(recorder.getIntervalHistogram());
+        return latencyMicros.copy();
+    }
+}
@@ -0,0 +1,55 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Size and shape of the catalogue generated under the synthetic profile.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sfg.brewery.synthetic")
+public class SyntheticCatalogueProperties {
+
+    private long count = 100_000;
+
+    /**
+     * Same seed, same beers: every generated beer is derived from the seed and its position only.
+     */
+    private long seed = 42;
+
+    private int batchSize = 1000;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Relative weight of each style. A weight of 0 leaves the style out.
+     */
+    private Map<BeerStyleEnum, Integer> styleWeights = defaultStyleWeights();
+
+    /**
+     * Zipf exponent for picking the words of a beer name: 0 is uniform, higher values concentrate
+     * the catalogue on fewer, more popular names.
+     */
+    private double nameSkew = 1.0;
+
+    private static Map<BeerStyleEnum, Integer> defaultStyleWeights() {
+        Map<BeerStyleEnum, Integer> weights = new EnumMap<>(BeerStyleEnum.class);
+        weights.put(BeerStyleEnum.IPA, 30);
+        weights.put(BeerStyleEnum.PALE_ALE, 18);
+        weights.put(BeerStyleEnum.LAGER, 15);
+        weights.put(BeerStyleEnum.ALE, 10);
+        weights.put(BeerStyleEnum.STOUT, 8);
+        weights.put(BeerStyleEnum.PILSNER, 7);
+        weights.put(BeerStyleEnum.WHEAT, 5);
+        weights.put(BeerStyleEnum.PORTER, 4);
+        weights.put(BeerStyleEnum.SAISON, 2);
+        weights.put(BeerStyleEnum.GOSE, 1);
+        return weights;
+    }
+}
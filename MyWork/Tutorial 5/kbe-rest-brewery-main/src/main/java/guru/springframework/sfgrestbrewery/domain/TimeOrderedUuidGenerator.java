@@ -0,0 +1,43 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates version 7 UUIDs: 48 bits of unix epoch millis, a 12 bit sequence, then random bits.
+ *
+ * Ids from one JVM are strictly increasing, so new rows land at the right edge of the primary key
+ * index instead of at random positions. When more than 4096 ids are taken in one millisecond the
+ * timestamp part runs slightly ahead of the clock.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    private static final long SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // unix millis shifted left by SEQUENCE_BITS, plus the sequence within that milli
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID nextUuid() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long next = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+
+        long mostSigBits = (timestamp & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | sequence;
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return nextUuid();
+    }
+}
@@ -0,0 +1,20 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.Tuple;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads only the named Beer attributes, each returned under its own name as tuple alias.
+ */
+public interface BeerFieldsRepository {
+
+    Page<Tuple> findFields(List<String> attributes, String beerName, BeerStyleEnum beerStyle, Pageable pageable);
+
+    Optional<Tuple> findFieldsById(List<String> attributes, UUID beerId);
+}
@@ -0,0 +1,82 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class BeerFieldsRepositoryImpl implements BeerFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<Tuple> findFields(List<String> attributes, String beerName, BeerStyleEnum beerStyle, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Beer> beer = query.from(Beer.class);
+        select(query, beer, attributes);
+        query.where(filters(cb, beer, beerName, beerStyle));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), beer, cb));
+
+        List<Tuple> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Beer> counted = count.from(Beer.class);
+            count.select(cb.count(counted)).where(filters(cb, counted, beerName, beerStyle));
+
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    @Override
+    public Optional<Tuple> findFieldsById(List<String> attributes, UUID beerId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Beer> beer = query.from(Beer.class);
+        select(query, beer, attributes);
+        query.where(cb.equal(beer.get("id"), beerId));
+
+        return entityManager.createQuery(query).getResultList().stream().findFirst();
+    }
+
+    private void select(CriteriaQuery<Tuple> query, Root<Beer> beer, List<String> attributes) {
+        query.multiselect(attributes.stream()
+                .map(attribute -> beer.get(attribute).alias(attribute))
+                .collect(Collectors.toList()));
+    }
+
+    private Predicate[] filters(CriteriaBuilder cb, Root<Beer> beer, String beerName, BeerStyleEnum beerStyle) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (beerName != null) {
+            predicates.add(cb.equal(beer.get("beerName"), beerName));
+        }
+        if (beerStyle != null) {
+            predicates.add(cb.equal(beer.get("beerStyle"), beerStyle));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+}
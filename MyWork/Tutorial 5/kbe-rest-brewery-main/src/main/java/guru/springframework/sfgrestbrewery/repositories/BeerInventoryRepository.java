@@ -0,0 +1,22 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Quantity on hand writes that leave @Version alone, so they never conflict with a concurrent edit of the beer,
+ * and that only touch the second-level cache entries of the beers they change.
+ */
+public interface BeerInventoryRepository {
+
+    /**
+     * Relative update, safe against other instances flushing the same beer. Returns the rows updated, which is 0
+     * when the beer is gone or the update would take its quantity below zero.
+     */
+    int adjustQuantityOnHand(UUID beerId, int delta);
+
+    /**
+     * Drops the cached entities of adjusted beers. Call once the adjustments are committed.
+     */
+    void evictCachedBeers(Collection<UUID> beerIds);
+}
@@ -0,0 +1,40 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.UUIDBinaryType;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A JPQL bulk update would make Hibernate evict the whole beer region and invalidate the Beer query cache on
+ * every flush. The native update is synchronized on a query space of its own instead, so nothing is evicted
+ * for it, and the adjusted beers are evicted one by one. Cached queries only hold ids and are not affected.
+ */
+@RequiredArgsConstructor
+public class BeerInventoryRepositoryImpl implements BeerInventoryRepository {
+
+    private static final String QUERY_SPACE = "beer_inventory";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int adjustQuantityOnHand(UUID beerId, int delta) {
+        return entityManager.createNativeQuery(
+                "update beer set quantity_on_hand = coalesce(quantity_on_hand, 0) + :delta "
+                        + "where id = :beerId and coalesce(quantity_on_hand, 0) + :delta >= 0")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE)
+                .setParameter("delta", delta)
+                .setParameter("beerId", beerId, UUIDBinaryType.INSTANCE)
+                .executeUpdate();
+    }
+
+    @Override
+    public void evictCachedBeers(Collection<UUID> beerIds) {
+        beerIds.forEach(beerId -> entityManager.getEntityManagerFactory().getCache().evict(Beer.class, beerId));
+    }
+}
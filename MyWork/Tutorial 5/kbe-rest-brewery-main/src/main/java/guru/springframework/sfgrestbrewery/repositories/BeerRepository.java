@@ -5,17 +5,97 @@ import guru.springframework.sfgrestbrewery.domain.Beer;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
-public interface BeerRepository extends JpaRepository<Beer, UUID> {
+
+public interface BeerRepository extends JpaRepository<Beer, UUID>, BeerFieldsRepository, BeerInventoryRepository {
     Page<Beer> findAllByBeerName(String beerName, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Page<Beer> findAllByBeerStyle(BeerStyleEnum beerStyle, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Page<Beer> findAllByBeerNameAndBeerStyle(String beerName, BeerStyleEnum beerStyle, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Beer findByUpc(String upc);
+
+    List<Beer> findAllByUpcIn(Collection<String> upcs);
+
+    @Query("select b.version from Beer b where b.id = :beerId")
+    Optional<Long> findVersionById(@Param("beerId") UUID beerId);
+
+    @Query("select coalesce(b.quantityOnHand, 0) from Beer b where b.id = :beerId")
+    Optional<Integer> findQuantityOnHandById(@Param("beerId") UUID beerId);
+
+    @Query("select b.beerStyle as beerStyle, count(b) as beers, count(b.price) as pricedBeers, " +
+            "min(b.price) as minPrice, max(b.price) as maxPrice, sum(b.price) as totalPrice, " +
+            "sum(b.quantityOnHand) as quantityOnHand " +
+            "from Beer b group by b.beerStyle")
+    List<BeerStyleAggregate> aggregateByBeerStyle();
+
+    @Query("select b.beerStyle as beerStyle, count(b) as beers, count(b.price) as pricedBeers, " +
+            "min(b.price) as minPrice, max(b.price) as maxPrice, sum(b.price) as totalPrice, " +
+            "sum(b.quantityOnHand) as quantityOnHand " +
+            "from Beer b where b.beerStyle = :beerStyle group by b.beerStyle")
+    Optional<BeerStyleAggregate> aggregateBeerStyle(@Param("beerStyle") BeerStyleEnum beerStyle);
+
+    Slice<Beer> findSliceBy(Pageable pageable);
+
+    Slice<Beer> findSliceByBeerName(String beerName, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Slice<Beer> findSliceByBeerStyle(BeerStyleEnum beerStyle, Pageable pageable);
+
+    Slice<Beer> findSliceByBeerNameAndBeerStyle(String beerName, BeerStyleEnum beerStyle, Pageable pageable);
+
+    /**
+     * First page of a keyset scan ordered by (beerName, id). Filters are ignored when null.
+     */
+    @Query("select b from Beer b " +
+            "where (:beerName is null or b.beerName = :beerName) " +
+            "and (:beerStyle is null or b.beerStyle = :beerStyle) " +
+            "order by b.beerName, b.id")
+    List<Beer> findKeysetFirstPage(@Param("beerName") String beerName,
+                                   @Param("beerStyle") BeerStyleEnum beerStyle,
+                                   Pageable pageable);
+
+    /**
+     * Page following (lastBeerName, lastId) of a keyset scan ordered by (beerName, id).
+     */
+    @Query("select b from Beer b " +
+            "where (:beerName is null or b.beerName = :beerName) " +
+            "and (:beerStyle is null or b.beerStyle = :beerStyle) " +
+            "and (b.beerName > :lastBeerName or (b.beerName = :lastBeerName and b.id > :lastId)) " +
+            "order by b.beerName, b.id")
+    List<Beer> findKeysetPageAfter(@Param("beerName") String beerName,
+                                   @Param("beerStyle") BeerStyleEnum beerStyle,
+                                   @Param("lastBeerName") String lastBeerName,
+                                   @Param("lastId") UUID lastId,
+                                   Pageable pageable);
+
+    /**
+     * Forward-only read of the whole catalogue. Must be consumed inside a transaction and closed.
+     * Bypasses the second-level cache so a full scan does not churn the hot entries out of it.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("select b from Beer b order by b.beerName, b.id")
+    Stream<Beer> streamAllBy();
 }
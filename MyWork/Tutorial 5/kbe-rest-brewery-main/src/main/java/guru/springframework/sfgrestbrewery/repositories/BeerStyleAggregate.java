@@ -0,0 +1,26 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+
+import java.math.BigDecimal;
+
+/**
+ * Count, price and quantity on hand totals of the beers of one style. Beers without a price are counted in
+ * beers but not in pricedBeers or the price columns.
+ */
+public interface BeerStyleAggregate {
+
+    BeerStyleEnum getBeerStyle();
+
+    Long getBeers();
+
+    Long getPricedBeers();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+
+    BigDecimal getTotalPrice();
+
+    Long getQuantityOnHand();
+}
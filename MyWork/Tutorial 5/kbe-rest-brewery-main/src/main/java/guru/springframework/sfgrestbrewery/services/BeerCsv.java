@@ -0,0 +1,27 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+
+/**
+ * CSV mapping shared by bulk import and export. Not a bean, a CsvMapper bean would replace Boot's ObjectMapper.
+ */
+final class BeerCsv {
+
+    static final CsvMapper MAPPER = (CsvMapper) new CsvMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .findAndRegisterModules();
+
+    static final CsvSchema READ_SCHEMA = CsvSchema.emptySchema().withHeader();
+
+    static final CsvSchema WRITE_SCHEMA = MAPPER.schemaFor(BeerDto.class)
+            .sortedBy("id", "version", "beerName", "beerStyle", "upc", "price", "quantityOnHand", "createdDate", "lastUpdatedDate")
+            .withHeader();
+
+    private BeerCsv() {
+    }
+}
@@ -0,0 +1,41 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.controller.BadRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a keyset scan over (beerName, id), carried to clients as an opaque token.
+ */
+@Value
+class BeerCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    String beerName;
+    UUID id;
+
+    static BeerCursor of(Beer beer) {
+        return new BeerCursor(beer.getBeerName(), beer.getId());
+    }
+
+    static BeerCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+
+            return new BeerCursor(decoded.substring(0, separator), UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid continuation token");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((beerName + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BeerExportService {
+    void exportNdjson(OutputStream outputStream) throws IOException;
+
+    void exportCsv(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,74 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalogue row by row from a database cursor, detaching each entity once written,
+ * so memory use does not depend on catalogue size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerExportServiceImpl implements BeerExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final BeerInventoryService beerInventoryService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        export(objectMapper.writerFor(BeerDto.class).withRootValueSeparator("\n"), outputStream);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportCsv(OutputStream outputStream) throws IOException {
+        export(BeerCsv.MAPPER.writerFor(BeerDto.class).with(BeerCsv.WRITE_SCHEMA), outputStream);
+    }
+
+    private void export(ObjectWriter writer, OutputStream outputStream) throws IOException {
+        long count = 0;
+
+        try (Stream<Beer> beers = beerRepository.streamAllBy();
+             SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+
+            Iterator<Beer> iterator = beers.iterator();
+
+            while (iterator.hasNext()) {
+                Beer beer = iterator.next();
+                BeerDto beerDto = beerMapper.beerToBeerDtoWithInventory(beer);
+                beerDto.setQuantityOnHand(beerInventoryService.getQuantityOnHand(beer.getId(), beer.getQuantityOnHand()));
+
+                sequenceWriter.write(beerDto);
+                entityManager.detach(beer);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    sequenceWriter.flush();
+                }
+            }
+        }
+
+        log.debug("Exported {} beers", count);
+    }
+}
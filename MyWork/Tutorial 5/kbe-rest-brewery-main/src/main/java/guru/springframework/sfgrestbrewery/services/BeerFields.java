@@ -0,0 +1,106 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.web.controller.BadRequestException;
+import guru.springframework.sfgrestbrewery.web.mappers.DateMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+
+import javax.persistence.Tuple;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BeerDto properties requested with fields=, and the Beer attributes backing them.
+ *
+ * The id is always selected, it is only written out when requested.
+ */
+final class BeerFields {
+
+    private static final Map<String, String> ATTRIBUTES = new LinkedHashMap<>();
+
+    static {
+        ATTRIBUTES.put("id", "id");
+        ATTRIBUTES.put("version", "version");
+        ATTRIBUTES.put("beerName", "beerName");
+        ATTRIBUTES.put("beerStyle", "beerStyle");
+        ATTRIBUTES.put("upc", "upc");
+        ATTRIBUTES.put("price", "price");
+        ATTRIBUTES.put("quantityOnHand", "quantityOnHand");
+        ATTRIBUTES.put("createdDate", "createdDate");
+        ATTRIBUTES.put("lastUpdatedDate", "lastModifiedDate");
+    }
+
+    private final Set<String> properties;
+
+    private BeerFields(Set<String> properties) {
+        this.properties = properties;
+    }
+
+    static BeerFields parse(String fields, boolean showInventoryOnHand) {
+        Set<String> properties = new LinkedHashSet<>();
+
+        for (String field : fields.split(",")) {
+            String property = field.trim();
+
+            if (property.isEmpty()) {
+                continue;
+            }
+            if (!ATTRIBUTES.containsKey(property)) {
+                throw new BadRequestException("Unknown field '" + property + "', expected any of " + ATTRIBUTES.keySet());
+            }
+
+            if (property.equals("quantityOnHand") && !showInventoryOnHand) {
+                throw new BadRequestException("Field 'quantityOnHand' requires showInventoryOnHand=true");
+            }
+
+            properties.add(property);
+        }
+
+        if (properties.isEmpty()) {
+            throw new BadRequestException("fields must name at least one property");
+        }
+
+        return new BeerFields(properties);
+    }
+
+    boolean includes(String property) {
+        return properties.contains(property);
+    }
+
+    List<String> attributes() {
+        List<String> attributes = new ArrayList<>();
+        attributes.add("id");
+
+        properties.stream()
+                .filter(property -> !property.equals("id"))
+                .map(ATTRIBUTES::get)
+                .forEach(attributes::add);
+
+        return attributes;
+    }
+
+    /**
+     * Requested properties of one row, converted to the types BeerDto exposes them as.
+     */
+    Map<String, Object> toMap(Tuple tuple, DateMapper dateMapper) {
+        Map<String, Object> beer = new LinkedHashMap<>();
+
+        for (String property : properties) {
+            Object value = tuple.get(ATTRIBUTES.get(property));
+
+            if (value instanceof Timestamp) {
+                value = dateMapper.asOffsetDateTime((Timestamp) value);
+            } else if (value instanceof BeerStyleEnum) {
+                value = ((BeerStyleEnum) value).name();
+            }
+
+            beer.put(property, value);
+        }
+
+        return beer;
+    }
+}
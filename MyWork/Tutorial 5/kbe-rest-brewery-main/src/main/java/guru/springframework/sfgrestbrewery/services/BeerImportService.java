@@ -0,0 +1,12 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BeerImportService {
+    BeerImportResult importNdjson(InputStream inputStream) throws IOException;
+
+    BeerImportResult importCsv(InputStream inputStream) throws IOException;
+}
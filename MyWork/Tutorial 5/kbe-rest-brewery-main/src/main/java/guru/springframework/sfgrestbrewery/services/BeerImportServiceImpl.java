@@ -0,0 +1,185 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerImportChunkResult;
+import guru.springframework.sfgrestbrewery.web.model.BeerImportResult;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams beers from NDJSON or CSV input and persists them in chunks, each chunk in its own
+ * transaction. The persistence context is cleared after every chunk so heap use does not grow
+ * with the size of the input.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerImportServiceImpl implements BeerImportService {
+
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BeerSearchIndex beerSearchIndex;
+    private final BeerStatsService beerStatsService;
+
+    @Value("${sfg.brewery.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${sfg.brewery.import.max-errors-per-chunk:10}")
+    private int maxErrorsPerChunk;
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "beerUpcCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerListCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerPageJsonCache", allEntries = true)
+    })
+    @Override
+    public BeerImportResult importNdjson(InputStream inputStream) throws IOException {
+        try (MappingIterator<BeerDto> rows = objectMapper.readerFor(BeerDto.class).readValues(inputStream)) {
+            return importBeers(rows);
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "beerUpcCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerListCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerPageJsonCache", allEntries = true)
+    })
+    @Override
+    public BeerImportResult importCsv(InputStream inputStream) throws IOException {
+        try (MappingIterator<BeerDto> rows = BeerCsv.MAPPER.readerFor(BeerDto.class)
+                .with(BeerCsv.READ_SCHEMA)
+                .readValues(inputStream)) {
+            return importBeers(rows);
+        }
+    }
+
+    private BeerImportResult importBeers(MappingIterator<BeerDto> rows) {
+        BeerImportResult result = BeerImportResult.builder().build();
+        List<Beer> batch = new ArrayList<>(chunkSize);
+        BeerImportChunkResult chunk = newChunk(1, 1);
+        long row = 0;
+
+        try {
+            while (rows.hasNextValue()) {
+                BeerDto beerDto = rows.nextValue();
+                row++;
+
+                String error = validate(beerDto);
+
+                if (error == null) {
+                    batch.add(beerMapper.beerDtoToBeer(beerDto));
+                } else {
+                    chunk.setRejected(chunk.getRejected() + 1);
+                    addRowError(chunk, "row " + row + " : " + error);
+                }
+
+                if (row - chunk.getFirstRow() + 1 == chunkSize) {
+                    saveChunk(batch, chunk, row, result);
+                    chunk = newChunk(chunk.getChunk() + 1, row + 1);
+                }
+            }
+        } catch (IOException e) {
+            String reason = e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+            result.setAbortedReason("row " + (row + 1) + " : " + reason);
+        }
+
+        if (row >= chunk.getFirstRow()) {
+            saveChunk(batch, chunk, row, result);
+        }
+
+        log.debug("Imported {} beers, rejected {}", result.getAccepted(), result.getRejected());
+
+        return result;
+    }
+
+    private String validate(BeerDto beerDto) {
+        Set<ConstraintViolation<BeerDto>> violations = validator.validate(beerDto);
+
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+        }
+
+        try {
+            BeerStyleEnum.valueOf(beerDto.getBeerStyle());
+        } catch (IllegalArgumentException e) {
+            return "beerStyle : unknown style " + beerDto.getBeerStyle();
+        }
+
+        return null;
+    }
+
+    private void saveChunk(List<Beer> batch, BeerImportChunkResult chunk, long lastRow, BeerImportResult result) {
+        chunk.setLastRow(lastRow);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                beerRepository.saveAll(batch);
+                //through the repository so constraint violations arrive translated, as DataAccessException
+                beerRepository.flush();
+                entityManager.clear();
+            });
+            chunk.setAccepted(batch.size());
+            batch.forEach(beerSearchIndex::index);
+            batch.forEach(beerStatsService::added);
+        } catch (DataAccessException e) {
+            log.debug("Import chunk {} failed", chunk.getChunk(), e);
+            entityManager.clear();
+            chunk.setRejected(chunk.getRejected() + batch.size());
+            chunk.getErrors().add("chunk " + chunk.getChunk() + " : " + e.getMostSpecificCause().getMessage());
+        }
+
+        result.setAccepted(result.getAccepted() + chunk.getAccepted());
+        result.setRejected(result.getRejected() + chunk.getRejected());
+        result.getChunks().add(chunk);
+
+        batch.clear();
+    }
+
+    /**
+     * Keeps the first few row errors of a chunk and counts the rest, so a file of bad rows does not build
+     * up an error list as large as the file.
+     */
+    private void addRowError(BeerImportChunkResult chunk, String error) {
+        if (chunk.getErrors().size() < maxErrorsPerChunk) {
+            chunk.getErrors().add(error);
+        } else {
+            chunk.setOmittedErrors(chunk.getOmittedErrors() + 1);
+        }
+    }
+
+    private BeerImportChunkResult newChunk(int number, long firstRow) {
+        return BeerImportChunkResult.builder()
+                .chunk(number)
+                .firstRow(firstRow)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerInventoryDto;
+
+import java.util.UUID;
+
+public interface BeerInventoryService {
+
+    BeerInventoryDto adjust(UUID beerId, int delta);
+
+    /**
+     * Live quantity of a beer if it has been adjusted since startup, otherwise the persisted quantity given.
+     */
+    Integer getQuantityOnHand(UUID beerId, Integer persistedQuantityOnHand);
+
+    int flush();
+
+    void forget(UUID beerId);
+}
@@ -0,0 +1,260 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.controller.BadRequestException;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
+import guru.springframework.sfgrestbrewery.web.model.BeerInventoryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Quantity on hand kept in memory per beer and written back in periodic batches.
+ *
+ * Adjustments only contend with other adjustments of the same beer, on a compare-and-set rather than
+ * a row lock, and never touch @Version, so they do not conflict with catalogue edits. Deltas that
+ * have not been flushed yet are lost if the process dies, at most one flush interval's worth.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerInventoryServiceImpl implements BeerInventoryService {
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<UUID, InventoryCounter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public BeerInventoryDto adjust(UUID beerId, int delta) {
+        while (true) {
+            InventoryCounter counter = counter(beerId);
+
+            long quantityOnHand = counter.tryAdd(delta);
+
+            //retired by a flush that found it stale, take the reseeded one
+            if (quantityOnHand == InventoryCounter.RETIRED) {
+                counters.remove(beerId, counter);
+                continue;
+            }
+
+            if (quantityOnHand < 0) {
+                throw new InsufficientInventoryException("Only " + counter.onHand() + " on hand for beer " + beerId);
+            }
+
+            return BeerInventoryDto.builder()
+                    .beerId(beerId)
+                    .quantityOnHand(Math.toIntExact(quantityOnHand))
+                    .build();
+        }
+    }
+
+    /**
+     * The seed is read outside the map so the query never runs while a map bin is locked. Two threads seeding
+     * the same beer both read it, and the first one to publish its counter wins.
+     */
+    private InventoryCounter counter(UUID beerId) {
+        InventoryCounter counter = counters.get(beerId);
+
+        if (counter != null) {
+            return counter;
+        }
+
+        //seeded in a read-write transaction so it is read from the primary, never from a lagging replica
+        InventoryCounter seeded = new InventoryCounter(
+                transactionTemplate.execute(status -> beerRepository.findQuantityOnHandById(beerId))
+                        .orElseThrow(NotFoundException::new));
+
+        counter = counters.putIfAbsent(beerId, seeded);
+
+        return counter == null ? seeded : counter;
+    }
+
+    @Override
+    public Integer getQuantityOnHand(UUID beerId, Integer persistedQuantityOnHand) {
+        InventoryCounter counter = counters.get(beerId);
+        long onHand = counter == null ? InventoryCounter.RETIRED : counter.onHand();
+
+        return onHand == InventoryCounter.RETIRED ? persistedQuantityOnHand : Integer.valueOf(Math.toIntExact(onHand));
+    }
+
+    /**
+     * Writes all pending deltas in one transaction, one relative update per beer touched since the last flush.
+     * When the updates fail the deltas are put back and retried on the next run. When the commit itself fails
+     * its outcome is unknown, so the deltas are not retried and the counters are reseeded from the database.
+     */
+    @Scheduled(fixedDelayString = "${sfg.brewery.inventory.flush-interval-ms:1000}")
+    @Override
+    public synchronized int flush() {
+        Map<UUID, Long> pending = new LinkedHashMap<>();
+        Map<UUID, InventoryCounter> flushed = new LinkedHashMap<>();
+
+        counters.forEach((beerId, counter) -> {
+            long delta = counter.takeUnflushed();
+
+            if (delta != 0) {
+                pending.put(beerId, delta);
+                flushed.put(beerId, counter);
+            }
+        });
+
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Set<UUID> rejected = new HashSet<>();
+        AtomicBoolean updated = new AtomicBoolean();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                pending.forEach((beerId, delta) -> {
+                    if (beerRepository.adjustQuantityOnHand(beerId, Math.toIntExact(delta)) == 0) {
+                        rejected.add(beerId);
+                    }
+                });
+                updated.set(true);
+            });
+        } catch (RuntimeException e) {
+            if (!updated.get()) {
+                log.warn("Inventory flush of {} beers failed, will retry", pending.size(), e);
+
+                pending.forEach((beerId, delta) -> flushed.get(beerId).restoreUnflushed(delta));
+
+                return 0;
+            }
+
+            //failed in or after the commit, which may have gone through; retrying could apply the deltas twice
+            log.error("Inventory flush of {} beers may not have committed, not retrying {}", pending.size(), pending, e);
+
+            beerRepository.evictCachedBeers(pending.keySet());
+            pending.forEach((beerId, delta) -> reseed(beerId, flushed.get(beerId), delta));
+
+            return 0;
+        }
+
+        beerRepository.evictCachedBeers(pending.keySet());
+
+        //the row is gone or another instance has sold the stock, so this counter is stale
+        rejected.forEach(beerId -> reseed(beerId, flushed.get(beerId), pending.get(beerId)));
+
+        log.debug("Flushed inventory of {} beers", pending.size());
+
+        return pending.size();
+    }
+
+    /**
+     * Retires the counter so the next adjustment reseeds it from the database, unless it has moved since the
+     * flush. Adjustments accepted in the meantime are then flushed, and judged, on the next run.
+     */
+    private void reseed(UUID beerId, InventoryCounter counter, long delta) {
+        if (counter.retire()) {
+            counters.remove(beerId, counter);
+            log.warn("Inventory delta {} for beer {} may not have been applied, reseeding", delta, beerId);
+        } else {
+            log.warn("Inventory delta {} for beer {} may not have been applied, newer adjustments are pending", delta, beerId);
+        }
+    }
+
+    @Override
+    public void forget(UUID beerId) {
+        counters.remove(beerId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Unflushed is the difference between the live quantity and the quantity last handed to a flush, so a
+     * single compare-and-set on the live quantity both applies an adjustment and makes it pending.
+     */
+    static final class InventoryCounter {
+
+        static final long RETIRED = Long.MIN_VALUE;
+
+        private final AtomicLong onHand;
+
+        //only touched by flush, which is synchronized
+        private long flushedOnHand;
+
+        InventoryCounter(long onHand) {
+            this.onHand = new AtomicLong(onHand);
+            this.flushedOnHand = onHand;
+        }
+
+        long onHand() {
+            return onHand.get();
+        }
+
+        /**
+         * Applies the delta unless the result would be negative. Returns the new quantity, -1 when refused
+         * or {@link #RETIRED} when the counter must no longer be used.
+         * A result that does not fit the int column is a bad request.
+         */
+        long tryAdd(long delta) {
+            long current;
+            long next;
+
+            do {
+                current = onHand.get();
+
+                if (current == RETIRED) {
+                    return RETIRED;
+                }
+
+                next = current + delta;
+
+                if (next < 0) {
+                    return -1;
+                }
+
+                if (next > Integer.MAX_VALUE) {
+                    throw new BadRequestException("Quantity on hand can not exceed " + Integer.MAX_VALUE);
+                }
+            } while (!onHand.compareAndSet(current, next));
+
+            return next;
+        }
+
+        long takeUnflushed() {
+            long current = onHand.get();
+
+            if (current == RETIRED) {
+                return 0;
+            }
+
+            long delta = current - flushedOnHand;
+            flushedOnHand = current;
+
+            return delta;
+        }
+
+        void restoreUnflushed(long delta) {
+            flushedOnHand -= delta;
+        }
+
+        /**
+         * Succeeds only if nothing was adjusted since the last {@link #takeUnflushed()}.
+         */
+        boolean retire() {
+            long current = onHand.get();
+
+            return current == flushedOnHand && onHand.compareAndSet(current, RETIRED);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory search over beer names and UPCs.
+ *
+ * Words of the name and the UPC are kept in a sorted term map for prefix lookups. Name words are
+ * also split into trigrams so misspelt queries still find candidates. The index is built once the
+ * application is ready and kept current by the beer service as its writes commit. Reads take no locks.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BeerSearchIndex {
+
+    private static final int MAX_PREFIX_CANDIDATES = 1000;
+    private static final int MAX_TRIGRAM_POSTINGS = 50_000;
+    private static final double MIN_FUZZY_SIMILARITY = 0.5;
+
+    private static final double EXACT_TERM_SCORE = 3;
+    private static final double PREFIX_SCORE = 2;
+
+    private final BeerRepository beerRepository;
+    private final EntityManager entityManager;
+
+    private final ConcurrentSkipListMap<String, Set<UUID>> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<UUID>> trigrams = new ConcurrentHashMap<>();
+    private final Map<UUID, IndexedBeer> indexed = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try (Stream<Beer> beers = beerRepository.streamAllBy()) {
+            beers.forEach(beer -> {
+                index(beer);
+                entityManager.detach(beer);
+            });
+        }
+
+        log.debug("Search index built with {} beers", indexed.size());
+    }
+
+    public void index(Beer beer) {
+        index(beer.getId(), beer.getBeerName(), beer.getUpc());
+    }
+
+    public synchronized void index(UUID beerId, String beerName, String upc) {
+        remove(beerId);
+
+        IndexedBeer entry = new IndexedBeer(beerName, upc);
+        indexed.put(beerId, entry);
+
+        entry.terms.forEach(term -> terms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(beerId));
+        entry.trigrams.forEach(gram -> trigrams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(beerId));
+    }
+
+    public synchronized void remove(UUID beerId) {
+        IndexedBeer entry = indexed.remove(beerId);
+
+        if (entry != null) {
+            entry.terms.forEach(term -> removePosting(terms, term, beerId));
+            entry.trigrams.forEach(gram -> removePosting(trigrams, gram, beerId));
+        }
+    }
+
+    public int size() {
+        return indexed.size();
+    }
+
+    /**
+     * Ids of the best matching beers, best first. Each query term scores a beer by its best match, a prefix
+     * match on a word of the name or the UPC ranking above a fuzzy one, and the scores of all query terms
+     * add up so that beers matching more of them rank higher. Fuzzy matching only runs when prefixes do not
+     * fill the limit.
+     */
+    public List<UUID> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+
+        if (queryTerms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        List<Map<UUID, Double>> termScores = new ArrayList<>();
+
+        for (String queryTerm : queryTerms) {
+            Map<UUID, Double> scores = new HashMap<>();
+            int candidates = 0;
+
+            for (Map.Entry<String, Set<UUID>> term : terms.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                double score = term.getKey().equals(queryTerm) ? EXACT_TERM_SCORE : PREFIX_SCORE;
+                term.getValue().forEach(beerId -> scores.merge(beerId, score, Math::max));
+
+                candidates += term.getValue().size();
+                if (candidates >= MAX_PREFIX_CANDIDATES) {
+                    break;
+                }
+            }
+
+            termScores.add(scores);
+        }
+
+        Map<UUID, Double> scores = sum(termScores);
+
+        if (scores.size() < limit) {
+            for (int i = 0; i < queryTerms.size(); i++) {
+                addFuzzyMatches(queryTerms.get(i), termScores.get(i));
+            }
+
+            scores = sum(termScores);
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> indexed.getOrDefault(entry.getKey(), IndexedBeer.EMPTY).name))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static Map<UUID, Double> sum(List<Map<UUID, Double>> termScores) {
+        Map<UUID, Double> scores = new HashMap<>();
+        termScores.forEach(term -> term.forEach((beerId, score) -> scores.merge(beerId, score, Double::sum)));
+
+        return scores;
+    }
+
+    private void addFuzzyMatches(String queryTerm, Map<UUID, Double> scores) {
+        Set<String> queryGrams = trigramsOf(queryTerm);
+
+        if (queryGrams.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Integer> shared = new HashMap<>();
+
+        for (String gram : queryGrams) {
+            Set<UUID> posting = trigrams.get(gram);
+
+            //very common trigrams say little about the match and dominate the cost
+            if (posting != null && posting.size() <= MAX_TRIGRAM_POSTINGS) {
+                posting.forEach(beerId -> shared.merge(beerId, 1, Integer::sum));
+            }
+        }
+
+        shared.forEach((beerId, count) -> {
+            double similarity = (double) count / queryGrams.size();
+
+            if (similarity >= MIN_FUZZY_SIMILARITY) {
+                scores.merge(beerId, similarity, Math::max);
+            }
+        });
+    }
+
+    private static void removePosting(Map<String, Set<UUID>> postings, String key, UUID beerId) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(beerId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    static Set<String> trigramsOf(String term) {
+        if (term.length() < 3) {
+            return Set.of();
+        }
+
+        String padded = "^" + term + "$";
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+
+        return grams;
+    }
+
+    private static final class IndexedBeer {
+
+        static final IndexedBeer EMPTY = new IndexedBeer("", null);
+
+        final String name;
+        final List<String> terms;
+        final Set<String> trigrams;
+
+        IndexedBeer(String beerName, String upc) {
+            this.name = beerName == null ? "" : beerName;
+
+            List<String> nameTerms = tokenize(beerName);
+            this.terms = new ArrayList<>(nameTerms);
+            if (upc != null && !upc.isEmpty()) {
+                this.terms.add(upc);
+            }
+
+            this.trigrams = nameTerms.stream()
+                    .flatMap(term -> trigramsOf(term).stream())
+                    .collect(Collectors.toSet());
+        }
+    }
+}
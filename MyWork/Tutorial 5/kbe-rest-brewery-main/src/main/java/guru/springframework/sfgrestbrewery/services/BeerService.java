@@ -1,10 +1,15 @@
 package guru.springframework.sfgrestbrewery.services;
 
+import guru.springframework.sfgrestbrewery.web.model.BeerCursorPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerSlicedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -13,13 +18,34 @@ import java.util.UUID;
 public interface BeerService {
     BeerPagedList listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand);
 
+    BeerSlicedList listBeerSlice(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand);
+
+    BeerCursorPagedList listBeersByCursor(String beerName, BeerStyleEnum beerStyle, String continuationToken, int pageSize, Boolean showInventoryOnHand);
+
+    /**
+     * Listing that reads and returns only the comma separated BeerDto properties in fields. Like the full
+     * representation, quantityOnHand is only available with showInventoryOnHand.
+     */
+    Page<Map<String, Object>> listBeerFields(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, String fields,
+                                             Boolean showInventoryOnHand);
+
     BeerDto getById(UUID beerId, Boolean showInventoryOnHand);
 
+    Map<String, Object> getBeerFieldsById(UUID beerId, String fields, Boolean showInventoryOnHand);
+
+    Long getVersion(UUID beerId);
+
+    Map<UUID, BeerDto> getByIds(List<UUID> beerIds);
+
+    List<BeerDto> searchBeers(String query, int limit);
+
     BeerDto saveNewBeer(BeerDto beerDto);
 
     BeerDto updateBeer(UUID beerId, BeerDto beerDto);
 
     BeerDto getByUpc(String upc);
 
+    Map<String, BeerDto> getByUpcs(List<String> upcs);
+
     void deleteBeerById(UUID beerId);
 }
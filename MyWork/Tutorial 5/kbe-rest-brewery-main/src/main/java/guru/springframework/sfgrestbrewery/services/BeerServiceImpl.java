@@ -4,31 +4,57 @@ import guru.springframework.sfgrestbrewery.domain.Beer;
 import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
 import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
 import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.mappers.DateMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerCursorPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerSlicedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import javax.persistence.Tuple;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static guru.springframework.sfgrestbrewery.services.TransactionCallbacks.afterCommit;
+
 /**
  * Created by jt on 2019-04-20.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BeerServiceImpl implements BeerService {
     private final BeerRepository beerRepository;
     private final BeerMapper beerMapper;
+    private final CacheManager cacheManager;
+    private final BeerSearchIndex beerSearchIndex;
+    private final BeerInventoryService beerInventoryService;
+    private final BeerStatsService beerStatsService;
+    private final DateMapper dateMapper;
 
-    @Cacheable(cacheNames = "beerListCache", condition = "#showInventoryOnHand == false ")
+    @Cacheable(cacheNames = "beerListCache", condition = "#showInventoryOnHand == false ", sync = true)
     @Override
     public BeerPagedList listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand) {
 
@@ -52,7 +78,7 @@ public class BeerServiceImpl implements BeerService {
             beerPagedList = new BeerPagedList(beerPage
                     .getContent()
                     .stream()
-                    .map(beerMapper::beerToBeerDtoWithInventory)
+                    .map(this::beerToBeerDtoWithInventory)
                     .collect(Collectors.toList()),
                     PageRequest
                             .of(beerPage.getPageable().getPageNumber(),
@@ -73,11 +99,79 @@ public class BeerServiceImpl implements BeerService {
         return beerPagedList;
     }
 
-    @Cacheable(cacheNames = "beerCache", key = "#beerId", condition = "#showInventoryOnHand == false ")
+    @Cacheable(cacheNames = "beerListCache", key = "{'slice', #beerName, #beerStyle, #pageRequest}",
+            condition = "#showInventoryOnHand == false ", sync = true)
+    @Override
+    public BeerSlicedList listBeerSlice(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand) {
+
+        Slice<Beer> beerSlice;
+
+        if (StringUtils.hasLength(beerName) && beerStyle != null) {
+            beerSlice = beerRepository.findSliceByBeerNameAndBeerStyle(beerName, beerStyle, pageRequest);
+        } else if (StringUtils.hasLength(beerName)) {
+            beerSlice = beerRepository.findSliceByBeerName(beerName, pageRequest);
+        } else if (beerStyle != null) {
+            beerSlice = beerRepository.findSliceByBeerStyle(beerStyle, pageRequest);
+        } else {
+            beerSlice = beerRepository.findSliceBy(pageRequest);
+        }
+
+        return BeerSlicedList.builder()
+                .content(beerSlice.getContent()
+                        .stream()
+                        .map(showInventoryOnHand ? this::beerToBeerDtoWithInventory : beerMapper::beerToBeerDto)
+                        .collect(Collectors.toList()))
+                .number(beerSlice.getNumber())
+                .size(beerSlice.getSize())
+                .hasNext(beerSlice.hasNext())
+                .build();
+    }
+
+    @Override
+    public BeerCursorPagedList listBeersByCursor(String beerName, BeerStyleEnum beerStyle, String continuationToken, int pageSize, Boolean showInventoryOnHand) {
+        String nameFilter = StringUtils.hasLength(beerName) ? beerName : null;
+
+        //fetch one extra row to learn whether another page follows
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Beer> beers;
+
+        if (StringUtils.hasLength(continuationToken)) {
+            BeerCursor cursor = BeerCursor.decode(continuationToken);
+            beers = beerRepository.findKeysetPageAfter(nameFilter, beerStyle, cursor.getBeerName(), cursor.getId(), limit);
+        } else {
+            beers = beerRepository.findKeysetFirstPage(nameFilter, beerStyle, limit);
+        }
+
+        String nextToken = null;
+
+        if (beers.size() > pageSize) {
+            beers = beers.subList(0, pageSize);
+            nextToken = BeerCursor.of(beers.get(pageSize - 1)).encode();
+        }
+
+        return BeerCursorPagedList.builder()
+                .content(beers.stream()
+                        .map(showInventoryOnHand ? this::beerToBeerDtoWithInventory : beerMapper::beerToBeerDto)
+                        .collect(Collectors.toList()))
+                .size(pageSize)
+                .continuationToken(nextToken)
+                .build();
+    }
+
+    @Override
+    public Page<Map<String, Object>> listBeerFields(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, String fields,
+                                                    Boolean showInventoryOnHand) {
+        BeerFields beerFields = BeerFields.parse(fields, Boolean.TRUE.equals(showInventoryOnHand));
+
+        return beerRepository.findFields(beerFields.attributes(), StringUtils.hasLength(beerName) ? beerName : null,
+                beerStyle, pageRequest).map(tuple -> toFieldsMap(tuple, beerFields));
+    }
+
+    @Cacheable(cacheNames = "beerCache", key = "#beerId", condition = "#showInventoryOnHand == false ", sync = true)
     @Override
     public BeerDto getById(UUID beerId, Boolean showInventoryOnHand) {
         if (showInventoryOnHand) {
-            return beerMapper.beerToBeerDtoWithInventory(
+            return beerToBeerDtoWithInventory(
                     beerRepository.findById(beerId).orElseThrow(NotFoundException::new)
             );
         } else {
@@ -87,31 +181,178 @@ public class BeerServiceImpl implements BeerService {
         }
     }
 
+    @Override
+    public Map<String, Object> getBeerFieldsById(UUID beerId, String fields, Boolean showInventoryOnHand) {
+        BeerFields beerFields = BeerFields.parse(fields, Boolean.TRUE.equals(showInventoryOnHand));
+
+        return beerRepository.findFieldsById(beerFields.attributes(), beerId)
+                .map(tuple -> toFieldsMap(tuple, beerFields))
+                .orElseThrow(NotFoundException::new);
+    }
+
+    /**
+     * Current version of a beer without mapping it, from beerCache when present.
+     */
+    @Override
+    public Long getVersion(UUID beerId) {
+        Cache.ValueWrapper cached = cacheManager.getCache("beerCache").get(beerId);
+
+        if (cached != null && cached.get() != null) {
+            return ((BeerDto) cached.get()).getVersion();
+        }
+
+        return beerRepository.findVersionById(beerId).orElseThrow(NotFoundException::new);
+    }
+
+    @Override
+    public Map<UUID, BeerDto> getByIds(List<UUID> beerIds) {
+        return getAllCached(beerIds, cacheManager.getCache("beerCache"),
+                beerRepository::findAllById, Beer::getId);
+    }
+
+    @Override
+    public List<BeerDto> searchBeers(String query, int limit) {
+        List<UUID> beerIds = beerSearchIndex.search(query, limit);
+
+        if (beerIds.isEmpty()) {
+            return List.of();
+        }
+
+        return getByIds(beerIds).values().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "beerUpcCache", key = "#beerDto.upc", condition = "#beerDto.upc != null"),
+            @CacheEvict(cacheNames = "beerListCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerPageJsonCache", allEntries = true)
+    })
+    @Transactional
     @Override
     public BeerDto saveNewBeer(BeerDto beerDto) {
-        return beerMapper.beerToBeerDto(beerRepository.save(beerMapper.beerDtoToBeer(beerDto)));
+        Beer savedBeer = beerRepository.save(beerMapper.beerDtoToBeer(beerDto));
+        indexAfterCommit(savedBeer);
+        beerStatsService.added(savedBeer);
+
+        return beerMapper.beerToBeerDto(savedBeer);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "beerCache", key = "#beerId"),
+            @CacheEvict(cacheNames = "beerUpcCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerListCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerPageJsonCache", allEntries = true)
+    })
+    @Transactional
     @Override
     public BeerDto updateBeer(UUID beerId, BeerDto beerDto) {
         Beer beer = beerRepository.findById(beerId).orElseThrow(NotFoundException::new);
+        BeerStyleEnum previousBeerStyle = beer.getBeerStyle();
+        BigDecimal previousPrice = beer.getPrice();
 
         beer.setBeerName(beerDto.getBeerName());
         beer.setBeerStyle(BeerStyleEnum.PILSNER.valueOf(beerDto.getBeerStyle()));
         beer.setPrice(beerDto.getPrice());
         beer.setUpc(beerDto.getUpc());
 
-        return beerMapper.beerToBeerDto(beerRepository.save(beer));
+        Beer savedBeer = beerRepository.save(beer);
+        indexAfterCommit(savedBeer);
+        beerStatsService.updated(previousBeerStyle, previousPrice, savedBeer);
+
+        return beerMapper.beerToBeerDto(savedBeer);
     }
 
-    @Cacheable(cacheNames = "beerUpcCache")
+    @Cacheable(cacheNames = "beerUpcCache", sync = true)
     @Override
     public BeerDto getByUpc(String upc) {
         return beerMapper.beerToBeerDto(beerRepository.findByUpc(upc));
     }
 
+    @Override
+    public Map<String, BeerDto> getByUpcs(List<String> upcs) {
+        return getAllCached(upcs, cacheManager.getCache("beerUpcCache"),
+                beerRepository::findAllByUpcIn, Beer::getUpc);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "beerCache", key = "#beerId"),
+            @CacheEvict(cacheNames = "beerUpcCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerListCache", allEntries = true),
+            @CacheEvict(cacheNames = "beerPageJsonCache", allEntries = true)
+    })
+    @Transactional
     @Override
     public void deleteBeerById(UUID beerId) {
+        //loaded into the persistence context here, deleteById reuses it
+        Optional<Beer> beer = beerRepository.findById(beerId);
+
         beerRepository.deleteById(beerId);
+        afterCommit(() -> beerSearchIndex.remove(beerId));
+        afterCommit(() -> beerInventoryService.forget(beerId));
+        beer.ifPresent(beerStatsService::removed);
+    }
+
+    /**
+     * Captures the indexed values now, the entity can still change before the transaction commits.
+     */
+    private void indexAfterCommit(Beer beer) {
+        UUID beerId = beer.getId();
+        String beerName = beer.getBeerName();
+        String upc = beer.getUpc();
+
+        afterCommit(() -> beerSearchIndex.index(beerId, beerName, upc));
+    }
+
+    /**
+     * Maps with quantity on hand taken from the live inventory counters rather than the last flushed value.
+     */
+    private BeerDto beerToBeerDtoWithInventory(Beer beer) {
+        BeerDto beerDto = beerMapper.beerToBeerDtoWithInventory(beer);
+        beerDto.setQuantityOnHand(beerInventoryService.getQuantityOnHand(beer.getId(), beer.getQuantityOnHand()));
+
+        return beerDto;
+    }
+
+    private Map<String, Object> toFieldsMap(Tuple tuple, BeerFields beerFields) {
+        Map<String, Object> beer = beerFields.toMap(tuple, dateMapper);
+
+        if (beerFields.includes("quantityOnHand")) {
+            beer.put("quantityOnHand", beerInventoryService.getQuantityOnHand(
+                    tuple.get("id", UUID.class), (Integer) beer.get("quantityOnHand")));
+        }
+
+        return beer;
+    }
+
+    /**
+     * Resolves keys from the cache first and loads all misses with a single query, caching what it loads.
+     * The result follows the order of the keys and maps keys that do not exist to null.
+     */
+    private <K> Map<K, BeerDto> getAllCached(List<K> keys, Cache cache,
+                                             Function<List<K>, List<Beer>> loader, Function<Beer, K> keyOf) {
+        Map<K, BeerDto> result = new LinkedHashMap<>();
+        List<K> misses = new ArrayList<>();
+
+        for (K key : keys) {
+            Cache.ValueWrapper cached = cache.get(key);
+
+            if (cached != null) {
+                result.put(key, (BeerDto) cached.get());
+            } else {
+                result.put(key, null);
+                misses.add(key);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (Beer beer : loader.apply(misses)) {
+                BeerDto beerDto = beerMapper.beerToBeerDto(beer);
+                cache.put(keyOf.apply(beer), beerDto);
+                result.put(keyOf.apply(beer), beerDto);
+            }
+        }
+
+        return result;
     }
 }
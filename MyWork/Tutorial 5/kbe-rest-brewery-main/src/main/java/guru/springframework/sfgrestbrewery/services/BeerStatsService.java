@@ -0,0 +1,23 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerCatalogueStats;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+
+import java.math.BigDecimal;
+
+public interface BeerStatsService {
+
+    BeerCatalogueStats getStats();
+
+    /**
+     * The write methods apply once the surrounding transaction commits, straight away outside of one.
+     */
+    void added(Beer beer);
+
+    void updated(BeerStyleEnum previousBeerStyle, BigDecimal previousPrice, Beer beer);
+
+    void removed(Beer beer);
+
+    void recompute();
+}
@@ -0,0 +1,291 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.repositories.BeerStyleAggregate;
+import guru.springframework.sfgrestbrewery.web.model.BeerCatalogueStats;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static guru.springframework.sfgrestbrewery.services.TransactionCallbacks.afterCommit;
+
+/**
+ * Per style totals of the catalogue, kept in memory so the stats endpoint never touches the beer table.
+ *
+ * Writes made through the services are applied as they commit. Minimum and maximum price cannot be taken back
+ * when a beer at either end is removed or repriced; that style is marked stale and reloaded with one indexed
+ * aggregate on the next read. Everything is replaced by a full recompute at startup and then periodically, which
+ * picks up writes that bypass the services and the inventory counters' flushes. A style written to while the
+ * recompute runs keeps its running totals until the next one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerStatsServiceImpl implements BeerStatsService {
+
+    private final BeerRepository beerRepository;
+
+    private final Map<BeerStyleEnum, StyleAccumulator> accumulators = newAccumulators();
+
+    private OffsetDateTime recomputedDate;
+
+    @Override
+    public BeerCatalogueStats getStats() {
+        List<BeerStyleEnum> stale = new ArrayList<>();
+        long[] writes = new long[BeerStyleEnum.values().length];
+
+        synchronized (accumulators) {
+            accumulators.forEach((beerStyle, accumulator) -> {
+                if (accumulator.extremesStale) {
+                    stale.add(beerStyle);
+                    writes[beerStyle.ordinal()] = accumulator.writes;
+                }
+            });
+        }
+
+        stale.forEach(beerStyle -> {
+            Optional<BeerStyleAggregate> aggregate = beerRepository.aggregateBeerStyle(beerStyle);
+
+            synchronized (accumulators) {
+                StyleAccumulator accumulator = accumulators.get(beerStyle);
+
+                if (accumulator.writes == writes[beerStyle.ordinal()]) {
+                    accumulator.reset(aggregate.orElse(null));
+                }
+            }
+        });
+
+        Map<BeerStyleEnum, BeerStyleStats> styles = new EnumMap<>(BeerStyleEnum.class);
+
+        synchronized (accumulators) {
+            accumulators.forEach((beerStyle, accumulator) -> styles.put(beerStyle, accumulator.toStats()));
+
+            return BeerCatalogueStats.builder()
+                    .styles(styles)
+                    .recomputedDate(recomputedDate)
+                    .build();
+        }
+    }
+
+    @Override
+    public void added(Beer beer) {
+        BeerStyleEnum beerStyle = beer.getBeerStyle();
+        long priceCents = toCents(beer.getPrice());
+        long quantityOnHand = quantityOnHand(beer);
+
+        afterCommit(() -> add(beerStyle, priceCents, quantityOnHand));
+    }
+
+    @Override
+    public void updated(BeerStyleEnum previousBeerStyle, BigDecimal previousPrice, Beer beer) {
+        BeerStyleEnum beerStyle = beer.getBeerStyle();
+        long previousPriceCents = toCents(previousPrice);
+        long priceCents = toCents(beer.getPrice());
+        long quantityOnHand = quantityOnHand(beer);
+
+        if (beerStyle == previousBeerStyle && priceCents == previousPriceCents) {
+            return;
+        }
+
+        afterCommit(() -> {
+            synchronized (accumulators) {
+                remove(previousBeerStyle, previousPriceCents, quantityOnHand);
+                add(beerStyle, priceCents, quantityOnHand);
+            }
+        });
+    }
+
+    @Override
+    public void removed(Beer beer) {
+        BeerStyleEnum beerStyle = beer.getBeerStyle();
+        long priceCents = toCents(beer.getPrice());
+        long quantityOnHand = quantityOnHand(beer);
+
+        afterCommit(() -> remove(beerStyle, priceCents, quantityOnHand));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${sfg.brewery.stats.recompute-interval-ms:60000}",
+            initialDelayString = "${sfg.brewery.stats.recompute-interval-ms:60000}")
+    @Override
+    public void recompute() {
+        long[] writes = new long[BeerStyleEnum.values().length];
+
+        synchronized (accumulators) {
+            accumulators.forEach((beerStyle, accumulator) -> writes[beerStyle.ordinal()] = accumulator.writes);
+        }
+
+        Map<BeerStyleEnum, BeerStyleAggregate> aggregates = new EnumMap<>(BeerStyleEnum.class);
+        beerRepository.aggregateByBeerStyle().stream()
+                .filter(aggregate -> aggregate.getBeerStyle() != null)
+                .forEach(aggregate -> aggregates.put(aggregate.getBeerStyle(), aggregate));
+
+        int skipped = 0;
+
+        synchronized (accumulators) {
+            for (Map.Entry<BeerStyleEnum, StyleAccumulator> entry : accumulators.entrySet()) {
+                StyleAccumulator accumulator = entry.getValue();
+
+                if (accumulator.writes == writes[entry.getKey().ordinal()]) {
+                    accumulator.reset(aggregates.get(entry.getKey()));
+                } else {
+                    skipped++;
+                }
+            }
+
+            recomputedDate = OffsetDateTime.now();
+        }
+
+        log.debug("Recomputed catalogue stats, {} styles written to meanwhile kept their running totals", skipped);
+    }
+
+    private void add(BeerStyleEnum beerStyle, long priceCents, long quantityOnHand) {
+        if (beerStyle == null) {
+            return;
+        }
+
+        synchronized (accumulators) {
+            accumulators.get(beerStyle).add(priceCents, quantityOnHand);
+        }
+    }
+
+    private void remove(BeerStyleEnum beerStyle, long priceCents, long quantityOnHand) {
+        if (beerStyle == null) {
+            return;
+        }
+
+        synchronized (accumulators) {
+            accumulators.get(beerStyle).remove(priceCents, quantityOnHand);
+        }
+    }
+
+    private static long quantityOnHand(Beer beer) {
+        return beer.getQuantityOnHand() == null ? 0 : beer.getQuantityOnHand();
+    }
+
+    /**
+     * Price in cents, as stored in the price column. NO_PRICE when the beer has none.
+     */
+    static long toCents(BigDecimal price) {
+        return price == null ? StyleAccumulator.NO_PRICE : price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static Map<BeerStyleEnum, StyleAccumulator> newAccumulators() {
+        Map<BeerStyleEnum, StyleAccumulator> accumulators = new EnumMap<>(BeerStyleEnum.class);
+
+        for (BeerStyleEnum beerStyle : BeerStyleEnum.values()) {
+            accumulators.put(beerStyle, new StyleAccumulator());
+        }
+
+        return accumulators;
+    }
+
+    /**
+     * Running totals of one style, guarded by the accumulators map. Prices are in cents.
+     */
+    static final class StyleAccumulator {
+
+        static final long NO_PRICE = Long.MIN_VALUE;
+
+        private long beers;
+        private long pricedBeers;
+        private long totalPriceCents;
+        private long minPriceCents;
+        private long maxPriceCents;
+        private long quantityOnHand;
+
+        private boolean extremesStale;
+
+        //bumped by every incremental change, a reload only applies if nothing changed while it queried
+        private long writes;
+
+        void add(long priceCents, long quantityOnHand) {
+            beers++;
+            this.quantityOnHand += quantityOnHand;
+            writes++;
+
+            if (priceCents == NO_PRICE) {
+                return;
+            }
+
+            if (pricedBeers == 0) {
+                minPriceCents = priceCents;
+                maxPriceCents = priceCents;
+            } else {
+                minPriceCents = Math.min(minPriceCents, priceCents);
+                maxPriceCents = Math.max(maxPriceCents, priceCents);
+            }
+
+            pricedBeers++;
+            totalPriceCents += priceCents;
+        }
+
+        void remove(long priceCents, long quantityOnHand) {
+            beers--;
+            this.quantityOnHand -= quantityOnHand;
+            writes++;
+
+            if (priceCents == NO_PRICE) {
+                return;
+            }
+
+            pricedBeers--;
+            totalPriceCents -= priceCents;
+
+            if (pricedBeers == 0) {
+                extremesStale = false;
+            } else if (priceCents <= minPriceCents || priceCents >= maxPriceCents) {
+                extremesStale = true;
+            }
+        }
+
+        void reset(BeerStyleAggregate aggregate) {
+            extremesStale = false;
+
+            if (aggregate == null) {
+                beers = 0;
+                pricedBeers = 0;
+                totalPriceCents = 0;
+                quantityOnHand = 0;
+                return;
+            }
+
+            beers = aggregate.getBeers();
+            pricedBeers = aggregate.getPricedBeers();
+            totalPriceCents = pricedBeers == 0 ? 0 : toCents(aggregate.getTotalPrice());
+            minPriceCents = pricedBeers == 0 ? 0 : toCents(aggregate.getMinPrice());
+            maxPriceCents = pricedBeers == 0 ? 0 : toCents(aggregate.getMaxPrice());
+            quantityOnHand = aggregate.getQuantityOnHand() == null ? 0 : aggregate.getQuantityOnHand();
+        }
+
+        BeerStyleStats toStats() {
+            BeerStyleStats.BeerStyleStatsBuilder stats = BeerStyleStats.builder()
+                    .beers(beers)
+                    .quantityOnHand(quantityOnHand);
+
+            if (pricedBeers > 0) {
+                stats.minPrice(BigDecimal.valueOf(minPriceCents, 2))
+                        .maxPrice(BigDecimal.valueOf(maxPriceCents, 2))
+                        .avgPrice(BigDecimal.valueOf(totalPriceCents, 2)
+                                .divide(BigDecimal.valueOf(pricedBeers), 2, RoundingMode.HALF_UP));
+            }
+
+            return stats.build();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
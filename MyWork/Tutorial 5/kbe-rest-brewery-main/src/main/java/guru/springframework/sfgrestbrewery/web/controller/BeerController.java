@@ -1,17 +1,28 @@
 package guru.springframework.sfgrestbrewery.web.controller;
 
 import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerCursorPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
 import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerSlicedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -24,15 +35,80 @@ public class BeerController {
 
     private static final Integer DEFAULT_PAGE_NUMBER = 0;
     private static final Integer DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
     private final BeerService beerService;
+    private final RenderedBeerPages renderedBeerPages;
+    private final IdempotentBeerCreation idempotentBeerCreation;
 
-    @GetMapping(produces = { "application/json" }, path = "beer")
-    public ResponseEntity<BeerPagedList> listBeers(@RequestParam(value = "pageNumber", required = false) Integer pageNumber,
-                                                   @RequestParam(value = "pageSize", required = false) Integer pageSize,
-                                                   @RequestParam(value = "beerName", required = false) String beerName,
-                                                   @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
-                                                   @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand){
+    @Value("${sfg.brewery.api.legacy-page-format:false}")
+    private boolean legacyPageFormat;
+
+    @GetMapping(produces = { "application/json", "application/cbor", "application/x-jackson-smile" }, path = "beer")
+    public ResponseEntity<?> listBeers(@RequestParam(value = "pageNumber", required = false) Integer pageNumber,
+                                       @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                       @RequestParam(value = "beerName", required = false) String beerName,
+                                       @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+                                       @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand,
+                                       @RequestParam(value = "fields", required = false) String fields,
+                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept){
+
+        if (showInventoryOnHand == null) {
+            showInventoryOnHand = false;
+        }
+
+        if (pageNumber == null || pageNumber < 0){
+            pageNumber = DEFAULT_PAGE_NUMBER;
+        }
+
+        if (pageSize == null || pageSize < 1) {
+            pageSize = DEFAULT_PAGE_SIZE;
+        }
+
+        if (fields != null) {
+            return new ResponseEntity<>(pageBody(beerService.listBeerFields(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), fields, showInventoryOnHand)), HttpStatus.OK);
+        }
+
+        //inventory moves without a version change, so those responses carry no validator
+        if (showInventoryOnHand) {
+            return new ResponseEntity<>(pageBody(beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), true)), HttpStatus.OK);
+        }
+
+        MediaType binaryType = preferredBinaryType(accept);
+
+        //binary callers always get the compact envelope; the pre-rendered bytes are JSON only
+        if (binaryType != null) {
+            BeerPagedList beerList = beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), false);
+
+            return ResponseEntity.ok()
+                    .contentType(binaryType)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .eTag(BeerETags.forRepresentation(BeerETags.forPage(beerList.getNumber(), beerList.getSize(),
+                            beerList.getTotalElements(), beerList.getContent()), binaryType))
+                    .body(BeerPage.of(beerList));
+        }
+
+        RenderedBeerPage beerPage = renderedBeerPages.render(beerName, beerStyle, PageRequest.of(pageNumber, pageSize));
+
+        //a matching If-None-Match turns this into a 304 without writing the body
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(beerPage.getETag())
+                .body(beerPage.getBody());
+    }
+
+    @GetMapping(produces = { "application/json", "application/cbor", "application/x-jackson-smile" }, path = "beer/slice")
+    public ResponseEntity<BeerSlicedList> listBeerSlice(@RequestParam(value = "pageNumber", required = false) Integer pageNumber,
+                                                        @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                                        @RequestParam(value = "beerName", required = false) String beerName,
+                                                        @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+                                                        @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand){
 
         if (showInventoryOnHand == null) {
             showInventoryOnHand = false;
@@ -46,35 +122,130 @@ public class BeerController {
             pageSize = DEFAULT_PAGE_SIZE;
         }
 
-        BeerPagedList beerList = beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), showInventoryOnHand);
+        BeerSlicedList beerSlice = beerService.listBeerSlice(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), showInventoryOnHand);
+
+        return new ResponseEntity<>(beerSlice, HttpStatus.OK);
+    }
+
+    @GetMapping(produces = { "application/json", "application/cbor", "application/x-jackson-smile" }, path = "beer/cursor")
+    public ResponseEntity<BeerCursorPagedList> listBeersByCursor(@RequestParam(value = "continuationToken", required = false) String continuationToken,
+                                                                 @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                                                 @RequestParam(value = "beerName", required = false) String beerName,
+                                                                 @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+                                                                 @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand){
+
+        if (showInventoryOnHand == null) {
+            showInventoryOnHand = false;
+        }
+
+        //the service fetches pageSize + 1 rows in one query
+        if (pageSize == null || pageSize < 1 || pageSize > MAX_BATCH_SIZE) {
+            pageSize = DEFAULT_PAGE_SIZE;
+        }
+
+        BeerCursorPagedList beerList = beerService.listBeersByCursor(beerName, beerStyle, continuationToken, pageSize, showInventoryOnHand);
 
         return new ResponseEntity<>(beerList, HttpStatus.OK);
     }
 
+    @GetMapping(produces = { "application/json", "application/cbor", "application/x-jackson-smile" }, path = "beer/search")
+    public ResponseEntity<List<BeerDto>> searchBeers(@RequestParam("q") String query,
+                                                     @RequestParam(value = "limit", required = false) Integer limit){
+
+        if (limit == null || limit < 1 || limit > MAX_BATCH_SIZE) {
+            limit = DEFAULT_SEARCH_LIMIT;
+        }
+
+        return new ResponseEntity<>(beerService.searchBeers(query, limit), HttpStatus.OK);
+    }
+
     @GetMapping("beer/{beerId}")
-    public ResponseEntity<BeerDto> getBeerById(@PathVariable("beerId") UUID beerId,
-                                               @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand){
+    public ResponseEntity<?> getBeerById(@PathVariable("beerId") UUID beerId,
+                                         @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand,
+                                         @RequestParam(value = "fields", required = false) String fields,
+                                         WebRequest webRequest){
         if (showInventoryOnHand == null) {
             showInventoryOnHand = false;
         }
 
-        return new ResponseEntity<>(beerService.getById(beerId, showInventoryOnHand), HttpStatus.OK);
+        if (fields != null) {
+            return new ResponseEntity<>(beerService.getBeerFieldsById(beerId, fields, showInventoryOnHand), HttpStatus.OK);
+        }
+
+        if (showInventoryOnHand) {
+            return new ResponseEntity<>(beerService.getById(beerId, true), HttpStatus.OK);
+        }
+
+        MediaType binaryType = preferredBinaryType(webRequest.getHeader(HttpHeaders.ACCEPT));
+
+        //revalidation only needs the version, so the beer is not loaded or mapped when unchanged
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = BeerETags.forRepresentation(BeerETags.forBeer(beerId, beerService.getVersion(beerId)), binaryType);
+
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(eTag).build();
+            }
+        }
+
+        BeerDto beerDto = beerService.getById(beerId, false);
+
+        return beerResponse(beerDto, binaryType);
     }
 
     @GetMapping("beerUpc/{upc}")
-    public ResponseEntity<BeerDto> getBeerByUpc(@PathVariable("upc") String upc){
-        return new ResponseEntity<>(beerService.getByUpc(upc), HttpStatus.OK);
+    public ResponseEntity<BeerDto> getBeerByUpc(@PathVariable("upc") String upc,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept){
+        BeerDto beerDto = beerService.getByUpc(upc);
+
+        if (beerDto == null) {
+            return new ResponseEntity<>(null, HttpStatus.OK);
+        }
+
+        return beerResponse(beerDto, preferredBinaryType(accept));
+    }
+
+    @PostMapping(path = "beer/batch", produces = { "application/json", "application/cbor", "application/x-jackson-smile" })
+    public ResponseEntity<Map<UUID, BeerDto>> getBeersByIds(@RequestBody List<UUID> beerIds){
+        checkBatchSize(beerIds);
+
+        return new ResponseEntity<>(beerService.getByIds(beerIds), HttpStatus.OK);
+    }
+
+    @PostMapping(path = "beerUpc/batch", produces = { "application/json", "application/cbor", "application/x-jackson-smile" })
+    public ResponseEntity<Map<String, BeerDto>> getBeersByUpcs(@RequestBody List<String> upcs){
+        checkBatchSize(upcs);
+
+        return new ResponseEntity<>(beerService.getByUpcs(upcs), HttpStatus.OK);
     }
 
     @PostMapping(path = "beer")
-    public ResponseEntity saveNewBeer(@RequestBody @Validated BeerDto beerDto){
+    public ResponseEntity saveNewBeer(@RequestBody @Validated BeerDto beerDto,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+
+        if (idempotencyKey == null) {
+            BeerDto savedBeer = beerService.saveNewBeer(beerDto);
 
-        BeerDto savedBeer = beerService.saveNewBeer(beerDto);
+            return ResponseEntity.created(beerLocation(savedBeer.getId())).build();
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BadRequestException(IDEMPOTENCY_KEY + " must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
 
-        return ResponseEntity
-                .created(UriComponentsBuilder
-                        .fromHttpUrl("http://api.springframework.guru/api/v1/beer/" + savedBeer.getId().toString())
-                        .build().toUri())
+        IdempotentResponse response = idempotentBeerCreation.create(idempotencyKey, beerDto);
+
+        //the stored request is this very object only when this call did the create
+        if (response.getRequest() == beerDto) {
+            return ResponseEntity.status(response.getStatus()).location(response.getLocation()).build();
+        }
+
+        if (!response.getRequest().equals(beerDto)) {
+            throw new BadRequestException(IDEMPOTENCY_KEY + " " + idempotencyKey + " was already used for a different beer");
+        }
+
+        return ResponseEntity.status(response.getStatus())
+                .location(response.getLocation())
+                .header(IDEMPOTENT_REPLAYED, "true")
                 .build();
     }
 
@@ -91,4 +262,56 @@ public class BeerController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    static URI beerLocation(UUID beerId) {
+        return UriComponentsBuilder
+                .fromHttpUrl("http://api.springframework.guru/api/v1/beer/" + beerId.toString())
+                .build().toUri();
+    }
+
+    private <T> Object pageBody(Page<T> page) {
+        return legacyPageFormat ? page : BeerPage.of(page);
+    }
+
+    /**
+     * Responses tagged for one representation, the tag and the content type have to agree with each other.
+     */
+    private static ResponseEntity<BeerDto> beerResponse(BeerDto beerDto, MediaType binaryType) {
+        return ResponseEntity.ok()
+                .contentType(binaryType != null ? binaryType : MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(BeerETags.forRepresentation(BeerETags.forBeer(beerDto), binaryType))
+                .body(beerDto);
+    }
+
+    /**
+     * CBOR or Smile when the caller prefers one of them over JSON, null for JSON.
+     */
+    private static MediaType preferredBinaryType(String accept) {
+        if (accept == null) {
+            return null;
+        }
+
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (mediaType.includes(APPLICATION_SMILE)) {
+                return APPLICATION_SMILE;
+            }
+        }
+
+        return null;
+    }
+
+    private void checkBatchSize(List<?> keys) {
+        if (keys.isEmpty() || keys.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " keys");
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.springframework.http.MediaType;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ETag values for beer responses.
+ *
+ * A single beer gets a strong tag from its id and @Version. A page gets a weak tag from its position,
+ * total, the highest version and last update in it and a hash of its ids, so inserts or deletes that
+ * shift the page also change the tag.
+ *
+ * JSON responses carry the tag as is, CBOR and Smile ones get the subtype appended so that a cache never
+ * revalidates one representation with the tag of another.
+ */
+final class BeerETags {
+
+    private BeerETags() {
+    }
+
+    static String forBeer(UUID beerId, Long version) {
+        return "\"" + beerId + "-" + version + "\"";
+    }
+
+    static String forBeer(BeerDto beerDto) {
+        return forBeer(beerDto.getId(), beerDto.getVersion());
+    }
+
+    static String forPage(int number, int size, long totalElements, List<BeerDto> content) {
+        long maxVersion = 0;
+        OffsetDateTime lastUpdated = null;
+        int idsHash = 1;
+
+        for (BeerDto beerDto : content) {
+            if (beerDto.getVersion() != null && beerDto.getVersion() > maxVersion) {
+                maxVersion = beerDto.getVersion();
+            }
+            if (beerDto.getLastUpdatedDate() != null && (lastUpdated == null || beerDto.getLastUpdatedDate().isAfter(lastUpdated))) {
+                lastUpdated = beerDto.getLastUpdatedDate();
+            }
+            idsHash = 31 * idsHash + (beerDto.getId() == null ? 0 : beerDto.getId().hashCode());
+        }
+
+        long lastUpdatedMillis = lastUpdated == null ? 0 : lastUpdated.toInstant().toEpochMilli();
+
+        return "W/\"" + number + "-" + size + "-" + totalElements + "-" + maxVersion + "-"
+                + Long.toHexString(lastUpdatedMillis) + "-" + Integer.toHexString(idsHash) + "\"";
+    }
+
+    static String forRepresentation(String eTag, MediaType binaryType) {
+        if (binaryType == null) {
+            return eTag;
+        }
+
+        return eTag.substring(0, eTag.length() - 1) + "-" + binaryType.getSubtype() + "\"";
+    }
+}
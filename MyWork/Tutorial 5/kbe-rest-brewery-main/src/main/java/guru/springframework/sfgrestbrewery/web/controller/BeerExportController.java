@@ -0,0 +1,57 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Full catalogue export, streamed as NDJSON (default) or CSV depending on the Accept header.
+ */
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/")
+@RestController
+public class BeerExportController {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final BeerExportService beerExportService;
+
+    @GetMapping(path = "beer/export", produces = { "application/x-ndjson", "text/csv" })
+    public ResponseEntity<StreamingResponseBody> exportBeers(@RequestHeader(value = "Accept", required = false) String accept) {
+
+        if (prefersCsv(accept)) {
+            return ResponseEntity.ok().contentType(TEXT_CSV).body(beerExportService::exportCsv);
+        }
+
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(beerExportService::exportNdjson);
+    }
+
+    private boolean prefersCsv(String accept) {
+        if (accept == null) {
+            return false;
+        }
+
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.includes(APPLICATION_NDJSON)) {
+                return false;
+            }
+            if (mediaType.includes(TEXT_CSV)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerImportService;
+import guru.springframework.sfgrestbrewery.web.model.BeerImportResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk beer import. The request body is read as a stream and never buffered whole.
+ */
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/")
+@RestController
+public class BeerImportController {
+
+    private final BeerImportService beerImportService;
+
+    @PostMapping(path = "beer/import", consumes = { "application/x-ndjson" }, produces = { "application/json" })
+    public ResponseEntity<BeerImportResult> importNdjson(InputStream inputStream) throws IOException {
+        return new ResponseEntity<>(beerImportService.importNdjson(inputStream), HttpStatus.OK);
+    }
+
+    @PostMapping(path = "beer/import", consumes = { "text/csv" }, produces = { "application/json" })
+    public ResponseEntity<BeerImportResult> importCsv(InputStream inputStream) throws IOException {
+        return new ResponseEntity<>(beerImportService.importCsv(inputStream), HttpStatus.OK);
+    }
+}
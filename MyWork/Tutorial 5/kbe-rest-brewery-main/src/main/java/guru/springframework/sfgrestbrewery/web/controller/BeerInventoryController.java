@@ -0,0 +1,33 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerInventoryService;
+import guru.springframework.sfgrestbrewery.web.model.BeerInventoryAdjustment;
+import guru.springframework.sfgrestbrewery.web.model.BeerInventoryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Quantity on hand changes for order and restock traffic, separate from full beer updates.
+ */
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/")
+@RestController
+public class BeerInventoryController {
+
+    private final BeerInventoryService beerInventoryService;
+
+    @PostMapping(path = "beer/{beerId}/inventory/adjust", produces = { "application/json" })
+    public ResponseEntity<BeerInventoryDto> adjustInventory(@PathVariable("beerId") UUID beerId,
+                                                            @RequestBody @Validated BeerInventoryAdjustment adjustment){
+        return new ResponseEntity<>(beerInventoryService.adjust(beerId, adjustment.getDelta()), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,26 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerStatsService;
+import guru.springframework.sfgrestbrewery.web.model.BeerCatalogueStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Per style counts, prices and inventory of the whole catalogue, served from memory.
+ */
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/")
+@RestController
+public class BeerStatsController {
+
+    private final BeerStatsService beerStatsService;
+
+    @GetMapping(path = "beer/stats", produces = { "application/json" })
+    public ResponseEntity<BeerCatalogueStats> getStats(){
+        return new ResponseEntity<>(beerStatsService.getStats(), HttpStatus.OK);
+    }
+}
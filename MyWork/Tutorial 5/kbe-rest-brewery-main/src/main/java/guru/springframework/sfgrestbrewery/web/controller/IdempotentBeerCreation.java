@@ -0,0 +1,29 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates a beer at most once per Idempotency-Key while the key is remembered.
+ *
+ * Keys live in idempotencyKeyCache, bounded and expiring after write. A retry of a completed create is a
+ * cache hit, and concurrent requests with the same key wait on the one already saving instead of starting
+ * their own transaction. A create that fails is not remembered, so it can be retried with the same key.
+ */
+@RequiredArgsConstructor
+@Component
+public class IdempotentBeerCreation {
+
+    private final BeerService beerService;
+
+    @Cacheable(cacheNames = "idempotencyKeyCache", key = "#idempotencyKey", sync = true)
+    public IdempotentResponse create(String idempotencyKey, BeerDto beerDto) {
+        BeerDto savedBeer = beerService.saveNewBeer(beerDto);
+
+        return new IdempotentResponse(beerDto, HttpStatus.CREATED.value(), BeerController.beerLocation(savedBeer.getId()));
+    }
+}
@@ -0,0 +1,22 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import lombok.Value;
+
+import java.net.URI;
+
+/**
+ * Outcome of a create made under an Idempotency-Key, kept to answer retries of the same request.
+ */
+@Value
+public class IdempotentResponse {
+
+    /**
+     * The request that created the beer, so a key reused for a different beer can be told apart from a retry.
+     */
+    BeerDto request;
+
+    int status;
+
+    URI location;
+}
@@ -0,0 +1,8 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+public class InsufficientInventoryException extends RuntimeException {
+
+    public InsufficientInventoryException(String message) {
+        super(message);
+    }
+}
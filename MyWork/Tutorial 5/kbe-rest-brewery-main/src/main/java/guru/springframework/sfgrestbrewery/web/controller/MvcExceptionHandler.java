@@ -1,5 +1,6 @@
 package guru.springframework.sfgrestbrewery.web.controller;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import javax.validation.ConstraintViolationException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Created by jt on 2019-05-25.
@@ -16,6 +18,9 @@ import java.util.List;
 @ControllerAdvice
 public class MvcExceptionHandler {
 
+    //unique index on beer.upc, see db/migration
+    private static final String UPC_CONSTRAINT = "ux_beer_upc";
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<List> validationErrorHandler(ConstraintViolationException e){
         List<String> errors = new ArrayList<>(e.getConstraintViolations().size());
@@ -27,6 +32,27 @@ public class MvcExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<List> badRequestHandler(BadRequestException e){
+        return new ResponseEntity<>(List.of(e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InsufficientInventoryException.class)
+    public ResponseEntity<List> insufficientInventoryHandler(InsufficientInventoryException e){
+        return new ResponseEntity<>(List.of(e.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<List> dataIntegrityViolationHandler(DataIntegrityViolationException e){
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+
+        if (cause.contains(UPC_CONSTRAINT)) {
+            return new ResponseEntity<>(List.of("Conflicts with an existing beer, UPCs must be unique"), HttpStatus.CONFLICT);
+        }
+
+        return new ResponseEntity<>(List.of("Conflicts with the current state of the data"), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BindException.class)
     public ResponseEntity<List> handleBindException(BindException ex){
         return new ResponseEntity(ex.getAllErrors(), HttpStatus.BAD_REQUEST);
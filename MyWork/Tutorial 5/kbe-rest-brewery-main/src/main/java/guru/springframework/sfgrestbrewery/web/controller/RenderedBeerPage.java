@@ -0,0 +1,14 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import lombok.Value;
+
+/**
+ * A listing page already serialized to JSON, together with its ETag.
+ */
+@Value
+public class RenderedBeerPage {
+
+    byte[] body;
+
+    String eTag;
+}
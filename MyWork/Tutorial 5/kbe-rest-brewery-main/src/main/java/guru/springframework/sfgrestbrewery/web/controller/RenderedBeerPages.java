@@ -0,0 +1,44 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Caches listing pages as the JSON bytes written to the response, so a hit skips Jackson entirely.
+ *
+ * Only listings without inventory are rendered here. The cache is size bounded, so the hot
+ * (filter, page, size) keys stay resident, and it is evicted together with beerListCache.
+ */
+@RequiredArgsConstructor
+@Component
+public class RenderedBeerPages {
+
+    private final BeerService beerService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sfg.brewery.api.legacy-page-format:false}")
+    private boolean legacyPageFormat;
+
+    @Cacheable(cacheNames = "beerPageJsonCache", key = "{#beerName, #beerStyle, #pageRequest}", sync = true)
+    public RenderedBeerPage render(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest) {
+        BeerPagedList beerList = beerService.listBeers(beerName, beerStyle, pageRequest, false);
+
+        try {
+            return new RenderedBeerPage(objectMapper.writeValueAsBytes(legacyPageFormat ? beerList : BeerPage.of(beerList)),
+                    BeerETags.forPage(beerList.getNumber(), beerList.getSize(), beerList.getTotalElements(), beerList.getContent()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
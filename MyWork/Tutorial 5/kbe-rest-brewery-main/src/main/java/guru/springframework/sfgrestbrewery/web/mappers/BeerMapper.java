@@ -3,6 +3,7 @@ package guru.springframework.sfgrestbrewery.web.mappers;
 import guru.springframework.sfgrestbrewery.domain.Beer;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * Created by jt on 2019-05-25.
@@ -10,9 +11,15 @@ import org.mapstruct.Mapper;
 @Mapper(uses = {DateMapper.class})
 public interface BeerMapper {
 
+    //cached and validated by id and version, which inventory flushes do not change, so stock stays out of it
+    @Mapping(source = "lastModifiedDate", target = "lastUpdatedDate")
+    @Mapping(target = "quantityOnHand", ignore = true)
     BeerDto beerToBeerDto(Beer beer);
 
+    @Mapping(source = "lastModifiedDate", target = "lastUpdatedDate")
     BeerDto beerToBeerDtoWithInventory(Beer beer);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
     Beer beerDtoToBeer(BeerDto dto);
 }
@@ -13,9 +13,7 @@ import java.time.ZoneOffset;
 public class DateMapper {
     public OffsetDateTime asOffsetDateTime(Timestamp ts){
         if (ts != null){
-            return OffsetDateTime.of(ts.toLocalDateTime().getYear(), ts.toLocalDateTime().getMonthValue(),
-                    ts.toLocalDateTime().getDayOfMonth(), ts.toLocalDateTime().getHour(), ts.toLocalDateTime().getMinute(),
-                    ts.toLocalDateTime().getSecond(), ts.toLocalDateTime().getNano(), ZoneOffset.UTC);
+            return OffsetDateTime.of(ts.toLocalDateTime(), ZoneOffset.UTC);
         } else {
             return null;
         }
@@ -23,7 +21,7 @@ public class DateMapper {
 
     public Timestamp asTimestamp(OffsetDateTime offsetDateTime){
         if(offsetDateTime != null) {
-            return Timestamp.valueOf(offsetDateTime.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+            return Timestamp.valueOf(offsetDateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime());
         } else {
             return null;
         }
@@ -0,0 +1,20 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerCatalogueStats {
+
+    private Map<BeerStyleEnum, BeerStyleStats> styles;
+
+    private OffsetDateTime recomputedDate;
+}
@@ -0,0 +1,28 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Page of a keyset (cursor) scan. Pass continuationToken back to fetch the next page,
+ * it is null once the last page has been returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerCursorPagedList implements Serializable {
+
+    static final long serialVersionUID = -2447418862470815937L;
+
+    private List<BeerDto> content;
+
+    private int size;
+
+    private String continuationToken;
+}
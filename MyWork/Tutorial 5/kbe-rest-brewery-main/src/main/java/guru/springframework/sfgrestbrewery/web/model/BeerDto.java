@@ -23,6 +23,8 @@ public class BeerDto {
     @Null
     private UUID id;
 
+    private Long version;
+
     @NotBlank
     private String beerName;
 
@@ -0,0 +1,37 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One committed batch of an import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerImportChunkResult {
+
+    private int chunk;
+
+    private long firstRow;
+
+    private long lastRow;
+
+    private int accepted;
+
+    private int rejected;
+
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+
+    /**
+     * Row errors beyond sfg.brewery.import.max-errors-per-chunk, counted but not listed.
+     */
+    private int omittedErrors;
+}
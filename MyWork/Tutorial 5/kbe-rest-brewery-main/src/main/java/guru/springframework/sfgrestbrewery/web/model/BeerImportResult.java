@@ -0,0 +1,31 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk beer import. Chunks before an aborted one stay committed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerImportResult {
+
+    private long accepted;
+
+    private long rejected;
+
+    @Builder.Default
+    private List<BeerImportChunkResult> chunks = new ArrayList<>();
+
+    /**
+     * Set when the input could not be parsed any further.
+     */
+    private String abortedReason;
+}
@@ -0,0 +1,41 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Compact page envelope (page format v2): the content and what is needed to page through it, without
+ * PageImpl's pageable and sort structure. Listings use it by default, sfg.brewery.api.legacy-page-format=true
+ * restores the v1 BeerPagedList shape for JSON callers that still need it. The version field tells clients which
+ * of the two shapes they got, v1 pages do not carry it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerPage<T> {
+
+    public static final int VERSION = 2;
+
+    @Builder.Default
+    private int version = VERSION;
+
+    private List<T> content;
+
+    private int number;
+
+    private int size;
+
+    private long totalElements;
+
+    private boolean hasNext;
+
+    public static <T> BeerPage<T> of(Page<T> page) {
+        return new BeerPage<>(VERSION, page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.hasNext());
+    }
+}
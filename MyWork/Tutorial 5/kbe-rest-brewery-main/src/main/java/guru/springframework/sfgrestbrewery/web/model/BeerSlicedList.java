@@ -0,0 +1,29 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Page of beers without totals, so it can be read without a count query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerSlicedList implements Serializable {
+
+    static final long serialVersionUID = 4386297851273940826L;
+
+    private List<BeerDto> content;
+
+    private int number;
+
+    private int size;
+
+    private boolean hasNext;
+}
@@ -0,0 +1,28 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Catalogue totals of one beer style. The prices are null when none of its beers has a price.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerStyleStats {
+
+    private long beers;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal avgPrice;
+
+    private BigDecimal maxPrice;
+
+    private long quantityOnHand;
+}
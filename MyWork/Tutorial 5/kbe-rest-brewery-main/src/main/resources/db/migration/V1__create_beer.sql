@@ -0,0 +1,17 @@
+-- Beer table as Hibernate generated it before the schema moved to Flyway.
+-- Databases created that way can be baselined at version 1, see README.
+
+CREATE TABLE beer (
+    id                 BINARY(16)     NOT NULL,
+    version            BIGINT,
+    beer_name          VARCHAR(255),
+    beer_style         INTEGER,
+    upc                VARCHAR(255),
+    quantity_on_hand   INTEGER,
+    price              DECIMAL(19, 2),
+    created_date       TIMESTAMP,
+    last_modified_date TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_beer_name_id ON beer (beer_name, id);
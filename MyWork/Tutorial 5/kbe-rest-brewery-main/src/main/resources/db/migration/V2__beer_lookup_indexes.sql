@@ -0,0 +1,8 @@
+-- Indexes behind BeerRepository's derived queries.
+
+-- findByUpc, findAllByUpcIn. Also stops duplicate UPCs, which findByUpc cannot handle.
+CREATE UNIQUE INDEX ux_beer_upc ON beer (upc);
+
+-- findAllByBeerStyle and findAllByBeerNameAndBeerStyle, plus the style-filtered keyset scans ordered by
+-- (beer_name, id). findAllByBeerName and the unfiltered keyset scans use ix_beer_name_id.
+CREATE INDEX ix_beer_style_name_id ON beer (beer_style, beer_name, id);
@@ -0,0 +1,62 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import guru.springframework.sfgrestbrewery.config.SyntheticCatalogueProperties;
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticBeerFactoryTest {
+
+    @Test
+    public void sameSeedSameBeersWhateverTheChunking() {
+        SyntheticBeerFactory factory = new SyntheticBeerFactory(new SyntheticCatalogueProperties());
+
+        List<Beer> whole = factory.chunk(0, 100);
+        List<Beer> split = factory.chunk(0, 40);
+        split.addAll(factory.chunk(40, 60));
+
+        assertEquals(whole, split);
+        assertEquals(whole, new SyntheticBeerFactory(new SyntheticCatalogueProperties()).chunk(0, 100));
+    }
+
+    @Test
+    public void differentSeedDifferentBeers() {
+        SyntheticCatalogueProperties properties = new SyntheticCatalogueProperties();
+        properties.setSeed(7);
+
+        assertNotEquals(new SyntheticBeerFactory(new SyntheticCatalogueProperties()).chunk(0, 100),
+                new SyntheticBeerFactory(properties).chunk(0, 100));
+    }
+
+    @Test
+    public void followsStyleWeights() {
+        SyntheticCatalogueProperties properties = new SyntheticCatalogueProperties();
+        Map<BeerStyleEnum, Integer> weights = new EnumMap<>(BeerStyleEnum.class);
+        weights.put(BeerStyleEnum.IPA, 3);
+        weights.put(BeerStyleEnum.STOUT, 1);
+        weights.put(BeerStyleEnum.GOSE, 0);
+        properties.setStyleWeights(weights);
+
+        Map<BeerStyleEnum, Long> counts = new SyntheticBeerFactory(properties).chunk(0, 10_000).stream()
+                .collect(Collectors.groupingBy(Beer::getBeerStyle, Collectors.counting()));
+
+        assertEquals(2, counts.size());
+        assertEquals(7500, counts.get(BeerStyleEnum.IPA), 300);
+        assertEquals(2500, counts.get(BeerStyleEnum.STOUT), 300);
+    }
+
+    @Test
+    public void upcsAreUnique() {
+        List<Beer> beers = new SyntheticBeerFactory(new SyntheticCatalogueProperties()).chunk(0, 1000);
+
+        assertEquals(1000, beers.stream().map(Beer::getUpc).distinct().count());
+        assertEquals(13, beers.get(0).getUpc().length());
+    }
+}
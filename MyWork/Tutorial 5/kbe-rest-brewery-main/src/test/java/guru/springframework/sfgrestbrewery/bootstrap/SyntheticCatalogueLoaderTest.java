@@ -0,0 +1,26 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("synthetic")
+@SpringBootTest(properties = {
+        "sfg.brewery.synthetic.count=2500",
+        "sfg.brewery.synthetic.batch-size=100",
+        "sfg.brewery.synthetic.threads=4"
+})
+public class SyntheticCatalogueLoaderTest {
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    public void generatesWholeCatalogue() {
+        assertEquals(2500, beerRepository.count());
+    }
+}
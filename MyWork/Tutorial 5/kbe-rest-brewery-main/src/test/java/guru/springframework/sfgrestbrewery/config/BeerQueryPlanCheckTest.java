@@ -0,0 +1,64 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeerQueryPlanCheckTest {
+
+    JdbcTemplate jdbcTemplate;
+    BeerQueryPlanCheck beerQueryPlanCheck;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:query-plan-test;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        beerQueryPlanCheck = new BeerQueryPlanCheck(jdbcTemplate);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("drop all objects");
+    }
+
+    @Test
+    public void migratedSchemaPasses() {
+        beerQueryPlanCheck.run(null);
+    }
+
+    @Test
+    public void missingUpcIndexFails() {
+        jdbcTemplate.execute("drop index ux_beer_upc");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> beerQueryPlanCheck.run(null));
+        assertTrue(e.getMessage().contains("findByUpc scans the table"));
+    }
+
+    @Test
+    public void missingStyleIndexFails() {
+        jdbcTemplate.execute("drop index ix_beer_style_name_id");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> beerQueryPlanCheck.run(null));
+        assertTrue(e.getMessage().contains("findAllByBeerStyle scans the table"));
+        assertTrue(e.getMessage().contains("findKeysetFirstPage by style scans the table"));
+        assertFalse(e.getMessage().contains("findByUpc"));
+    }
+
+    @Test
+    public void missingNameIndexFails() {
+        jdbcTemplate.execute("drop index ix_beer_name_id");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> beerQueryPlanCheck.run(null));
+        assertTrue(e.getMessage().contains("findAllByBeerName scans the table"));
+        assertTrue(e.getMessage().contains("streamAllBy sorts instead of reading in index order"));
+    }
+}
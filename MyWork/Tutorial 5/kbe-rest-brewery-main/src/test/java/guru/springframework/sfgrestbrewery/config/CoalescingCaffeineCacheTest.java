@@ -0,0 +1,131 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoalescingCaffeineCacheTest {
+
+    static final int CALLERS = 16;
+
+    SimpleMeterRegistry meterRegistry;
+    CoalescingCaffeineCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CoalescingCaffeineCache("beerCache", Caffeine.newBuilder().build(), true, meterRegistry);
+    }
+
+    @Test
+    public void concurrentMissesLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(() -> cache.get("key", () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "value";
+        }), release);
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get());
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, count("loaded"));
+        assertEquals(CALLERS - 1, count("coalesced"));
+        assertEquals("value", cache.get("key").get());
+    }
+
+    @Test
+    public void waitersSeeLoaderFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(() -> cache.<String>get("key", () -> {
+            release.await();
+            throw new IllegalStateException("boom");
+        }), release);
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, result::get);
+            assertTrue(e.getCause() instanceof Cache.ValueRetrievalException);
+            assertTrue(e.getCause().getCause() instanceof IllegalStateException);
+        }
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void evictDuringLoadDiscardsTheLoadedValue() throws Exception {
+        assertLoadDiscardedBy(() -> cache.evict("key"));
+    }
+
+    @Test
+    public void clearDuringLoadDiscardsTheLoadedValue() throws Exception {
+        assertLoadDiscardedBy(() -> cache.clear());
+    }
+
+    private void assertLoadDiscardedBy(Runnable invalidation) throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            //reads the row as it was before the write that the eviction belongs to
+            Future<String> stale = executor.submit(() -> cache.get("key", () -> {
+                loading.countDown();
+                release.await();
+                return "old";
+            }));
+
+            loading.await();
+            invalidation.run();
+            release.countDown();
+
+            assertEquals("old", stale.get());
+            assertNull(cache.get("key"));
+            assertEquals("new", cache.get("key", () -> "new"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call, CountDownLatch release)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+
+        //hold the load until every other caller has joined it
+        while (count("coalesced") < CALLERS - 1) {
+            Thread.sleep(5);
+        }
+
+        release.countDown();
+        executor.shutdown();
+
+        return results;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.loads").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,121 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class ProfilingDataSourceTest {
+
+    SqlProfiler sqlProfiler;
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        sqlProfiler = new SqlProfiler(500, Duration.ZERO);
+        jdbcTemplate = new JdbcTemplate(new ProfilingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:profiling-test;DB_CLOSE_DELAY=-1", "sa", ""), sqlProfiler));
+
+        jdbcTemplate.execute("create table beer (id int primary key, beer_name varchar(50), beer_style varchar(20))");
+        jdbcTemplate.batchUpdate("insert into beer values (?, ?, ?)", List.of(
+                new Object[] { 1, "Mango Bobs", "ALE" },
+                new Object[] { 2, "Galaxy Cat", "PALE_ALE" },
+                new Object[] { 3, "Pinball Porter", "PORTER" }));
+        sqlProfiler.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("drop all objects");
+    }
+
+    @Test
+    public void normalizesLiteralsAndInLists() {
+        assertEquals("select * from beer where beer_name = ? and id in (?...) limit ?",
+                SqlProfiler.normalize("select *  from beer\n where beer_name = 'It''s' and id in (?, ?,?) limit 25"));
+        assertEquals("select beer0_.id from beer beer0_", SqlProfiler.normalize("select beer0_.id from beer beer0_"));
+    }
+
+    @Test
+    public void countsCallsAndRowsPerStatement() {
+        jdbcTemplate.queryForList("select beer_name from beer where beer_style = ?", String.class, "ALE");
+        jdbcTemplate.queryForList("select beer_name from beer where beer_style = ?", String.class, "PORTER");
+        jdbcTemplate.queryForList("select beer_name from beer where id in (1, 2, 3)", String.class);
+        jdbcTemplate.update("update beer set beer_style = ? where id < ?", "STOUT", 3);
+
+        SqlStatementStats byStyle = stats("select beer_name from beer where beer_style = ?");
+        assertEquals(2, byStyle.getCalls());
+        assertEquals(2, byStyle.getRows());
+        assertEquals(2, byStyle.latencyMicros().getTotalCount());
+
+        assertEquals(3, stats("select beer_name from beer where id in (?...)").getRows());
+        assertEquals(2, stats("update beer set beer_style = ? where id < ?").getRows());
+    }
+
+    @Test
+    public void batchesCountUpdatedRows() {
+        jdbcTemplate.batchUpdate("insert into beer values (?, ?, ?)", List.of(
+                new Object[] { 4, "Cage Blond", "ALE" },
+                new Object[] { 5, "Amarillo Pale", "PALE_ALE" }));
+
+        SqlStatementStats insert = stats("insert into beer values (?, ?, ?)");
+        assertEquals(1, insert.getCalls());
+        assertEquals(2, insert.getRows());
+    }
+
+    @Test
+    public void countsFailures() {
+        assertThrows(BadSqlGrammarException.class, () -> jdbcTemplate.queryForList("select nope from beer"));
+
+        assertEquals(1, stats("select nope from beer").getErrors());
+    }
+
+    @Test
+    public void ranksByTotalTime() {
+        jdbcTemplate.queryForList("select * from beer");
+        jdbcTemplate.queryForList("select count(*) from beer");
+
+        List<SqlStatementStats> top = sqlProfiler.top(10);
+        assertEquals(2, top.size());
+        assertTrue(top.get(0).getTotalNanos() >= top.get(1).getTotalNanos());
+        assertEquals(1, sqlProfiler.top(1).size());
+    }
+
+    @Test
+    public void slowQueriesAreLoggedWithBindParameters(CapturedOutput output) {
+        jdbcTemplate.queryForList("select beer_name from beer where beer_style = ?", String.class, "PORTER");
+
+        assertTrue(output.getOut().contains("select beer_name from beer where beer_style = ? [1=PORTER]"));
+    }
+
+    @Test
+    public void statementsBeyondTheLimitAreCountedTogether() {
+        sqlProfiler = new SqlProfiler(1, null);
+        jdbcTemplate = new JdbcTemplate(new ProfilingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:profiling-test;DB_CLOSE_DELAY=-1", "sa", ""), sqlProfiler));
+
+        jdbcTemplate.queryForList("select * from beer");
+        jdbcTemplate.queryForList("select beer_name from beer");
+        jdbcTemplate.queryForList("select beer_style from beer");
+
+        assertEquals(2, stats(SqlProfiler.OTHER_STATEMENTS).getCalls());
+    }
+
+    private SqlStatementStats stats(String sql) {
+        return sqlProfiler.top(100).stream()
+                .filter(stats -> stats.getSql().equals(sql))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No stats for " + sql));
+    }
+}
@@ -0,0 +1,88 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The primary and replica-0 are separate H2 databases, both migrated. Only the primary is loaded with beers,
+ * so where a row is found tells which database a statement went to.
+ */
+@ActiveProfiles("replica")
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaDataSourceConfigTest.PRIMARY_URL,
+        //the replica list is bound from one property source, so the profile's other replica settings are repeated
+        "sfg.brewery.datasource.replicas[0].url=" + ReplicaDataSourceConfigTest.REPLICA_URL,
+        "sfg.brewery.datasource.replicas[0].lag-query=select 0",
+        "sfg.brewery.datasource.replicas[0].migrate=true"
+})
+public class ReplicaDataSourceConfigTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-config-test-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-config-test-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Test
+    public void readOnlyTransactionsGoToReplica() throws Exception {
+        assertTrue(dataSource.isWrapperFor(LazyConnectionDataSourceProxy.class));
+
+        double before = replicaReads();
+
+        assertTrue(primary.queryForObject("select count(*) from beer", Long.class) > 0);
+        assertEquals(0, beerRepository.count());
+        assertTrue(replicaReads() > before);
+    }
+
+    @Test
+    public void writesGoToPrimaryOnly() {
+        beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Primary Only")
+                .beerStyle("ALE")
+                .upc("6000000000001")
+                .build());
+
+        assertEquals(1, countByUpc(primary, "6000000000001"));
+        assertEquals(0, countByUpc(replica, "6000000000001"));
+    }
+
+    @Test
+    public void cacheLoadsReadThePrimary() {
+        //the replica has no beers, a cached lookup that went there would come back empty
+        assertNotNull(beerService.getByUpc(BeerLoader.BEER_1_UPC));
+    }
+
+    private static long countByUpc(JdbcTemplate jdbcTemplate, String upc) {
+        return jdbcTemplate.queryForObject("select count(*) from beer where upc = ?", Long.class, upc);
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("datasource.routing.connections").tag("route", "replica-0").counter().count();
+    }
+}
@@ -0,0 +1,112 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two separate H2 databases stand in for the primary and the replica, each knowing its own name.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    SimpleMeterRegistry meterRegistry;
+    JdbcTemplate replica;
+    ReplicaRoutingDataSource routingDataSource;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        DataSource primaryDataSource = h2("primary");
+        DataSource replicaDataSource = h2("replica");
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table replica_lag (lag_ms bigint)");
+        replica.update("insert into replica_lag values (0)");
+
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource,
+                Map.of("replica-0", new ReplicaTarget(replicaDataSource, "select lag_ms from replica_lag")),
+                5000, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("drop all objects");
+        replica.execute("drop all objects");
+    }
+
+    @Test
+    public void readOnlyTransactionsUseReplica() {
+        //the lazy proxy already took one connection from the primary to learn its defaults
+        double writes = connections("primary", "write");
+
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+        assertEquals("primary", readWrite.execute(status -> whoami()));
+        assertEquals("primary", whoami());
+
+        assertEquals(1, connections("replica-0", "read"));
+        assertEquals(writes + 2, connections("primary", "write"));
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimary() {
+        replica.update("update replica_lag set lag_ms = 60000");
+        routingDataSource.checkReplicas();
+
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+        assertEquals(1, connections("primary", "fallback"));
+        assertEquals(60000, meterRegistry.get("datasource.replica.lag").gauge().value());
+
+        replica.update("update replica_lag set lag_ms = 10");
+        routingDataSource.checkReplicas();
+
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    public void unreachableReplicaFallsBackToPrimary() {
+        replica.execute("drop table replica_lag");
+        routingDataSource.checkReplicas();
+
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+        assertEquals(-1, meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+
+    private String whoami() {
+        return jdbcTemplate.queryForObject("select name from whoami", String.class);
+    }
+
+    private double connections(String route, String reason) {
+        return meterRegistry.get("datasource.routing.connections").tag("route", route).tag("reason", reason)
+                .counter().count();
+    }
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-routing;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table whoami (name varchar(20))");
+        jdbcTemplate.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,40 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SqlProfileEndpointTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    SqlProfileEndpoint sqlProfileEndpoint;
+
+    @Test
+    public void derivedQueriesShowUpInTheProfile() {
+        assertTrue(dataSource instanceof ProfilingDataSource);
+
+        sqlProfileEndpoint.reset();
+        //with inventory the listing bypasses the service cache, and the by-name query is not query cached
+        beerService.listBeers("Mango Bobs", null, PageRequest.of(0, 1), true);
+
+        SqlProfileEndpoint.SqlProfile profile = sqlProfileEndpoint.profile(null);
+
+        assertTrue(profile.getStatements().stream()
+                .anyMatch(statement -> statement.getSql().contains("where beer0_.beer_name=?") && statement.getRows() > 0));
+        assertTrue(profile.getStatements().stream()
+                .anyMatch(statement -> statement.getSql().startsWith("select count(") && statement.getCalls() == 1));
+    }
+}
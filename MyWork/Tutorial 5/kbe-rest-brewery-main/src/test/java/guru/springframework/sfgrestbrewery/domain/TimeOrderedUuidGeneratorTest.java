@@ -0,0 +1,37 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    public void generatesVersion7Uuids() {
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    public void embedsCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+        assertTrue((uuid.getMostSignificantBits() >>> 16) >= before);
+    }
+
+    @Test
+    public void isStrictlyIncreasing() {
+        UUID previous = TimeOrderedUuidGenerator.nextUuid();
+
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.nextUuid();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+}
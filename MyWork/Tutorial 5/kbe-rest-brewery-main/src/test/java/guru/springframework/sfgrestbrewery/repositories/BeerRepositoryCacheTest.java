@@ -0,0 +1,97 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.services.BeerInventoryService;
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BeerRepositoryCacheTest {
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerInventoryService beerInventoryService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void findByIdHitsSecondLevelCache() {
+        Beer beer = beerRepository.findAllByBeerStyle(BeerStyleEnum.LAGER, PageRequest.of(0, 1)).getContent().get(0);
+
+        beerRepository.findById(beer.getId());
+        long hits = statistics.getSecondLevelCacheHitCount();
+        beerRepository.findById(beer.getId());
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hits);
+    }
+
+    @Test
+    public void findByUpcHitsQueryCache() {
+        String upc = beerRepository.findAll().get(0).getUpc();
+
+        beerRepository.findByUpc(upc);
+        beerRepository.findByUpc(upc);
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void updateIsVisibleThroughCaches() {
+        Beer beer = beerRepository.findAllByBeerStyle(BeerStyleEnum.PORTER, PageRequest.of(0, 1)).getContent().get(0);
+        beerRepository.findByUpc(beer.getUpc());
+
+        beerService.updateBeer(beer.getId(), BeerDto.builder()
+                .beerName("Renamed Porter")
+                .beerStyle(BeerStyleEnum.PORTER.name())
+                .upc(beer.getUpc())
+                .price(beer.getPrice())
+                .build());
+
+        assertEquals("Renamed Porter", beerRepository.findById(beer.getId()).get().getBeerName());
+        assertEquals("Renamed Porter", beerRepository.findByUpc(beer.getUpc()).getBeerName());
+    }
+
+    @Test
+    public void inventoryFlushEvictsOnlyAdjustedBeers() {
+        List<Beer> beers = beerRepository.findAllByBeerStyle(BeerStyleEnum.IPA, PageRequest.of(0, 2)).getContent();
+        Beer adjusted = beers.get(0);
+        Beer untouched = beers.get(1);
+        beerRepository.findById(untouched.getId());
+
+        beerInventoryService.adjust(adjusted.getId(), 5);
+        beerInventoryService.flush();
+
+        Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Beer.class, untouched.getId()));
+        assertFalse(cache.contains(Beer.class, adjusted.getId()));
+        assertEquals(adjusted.getQuantityOnHand() + 5, beerRepository.findById(adjusted.getId()).get().getQuantityOnHand());
+    }
+}
@@ -0,0 +1,44 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BeerExportServiceImplTest {
+
+    @Autowired
+    BeerExportService beerExportService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    public void exportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        beerExportService.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(beerRepository.count(), lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+        assertFalse(lines[0].contains("\"quantityOnHand\":null"));
+    }
+
+    @Test
+    public void exportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        beerExportService.exportCsv(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(beerRepository.count() + 1, lines.length);
+        assertEquals("id,version,beerName,beerStyle,upc,price,quantityOnHand,createdDate,lastUpdatedDate", lines[0]);
+    }
+}
@@ -0,0 +1,100 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.model.BeerImportResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"sfg.brewery.import.chunk-size=2", "sfg.brewery.import.max-errors-per-chunk=1"})
+public class BeerImportServiceImplTest {
+
+    @Autowired
+    BeerImportService beerImportService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    public void importNdjson() throws Exception {
+        String ndjson = "{\"beerName\":\"Import 1\",\"beerStyle\":\"ALE\",\"upc\":\"1000000000001\",\"price\":\"9.99\"}\n" +
+                "{\"beerName\":\"\",\"beerStyle\":\"ALE\",\"upc\":\"1000000000002\"}\n" +
+                "{\"beerName\":\"Import 3\",\"beerStyle\":\"NOT_A_STYLE\",\"upc\":\"1000000000003\"}\n" +
+                "{\"beerName\":\"Import 4\",\"beerStyle\":\"IPA\",\"upc\":\"1000000000004\",\"quantityOnHand\":12}\n" +
+                "{\"beerName\":\"Import 5\",\"beerStyle\":\"STOUT\",\"upc\":\"1000000000005\"}\n";
+
+        BeerImportResult result = beerImportService.importNdjson(stream(ndjson));
+
+        assertEquals(3, result.getAccepted());
+        assertEquals(2, result.getRejected());
+        assertEquals(3, result.getChunks().size());
+        assertNull(result.getAbortedReason());
+        assertNotNull(beerRepository.findByUpc("1000000000004"));
+        assertNull(beerRepository.findByUpc("1000000000003"));
+    }
+
+    @Test
+    public void importCsv() throws Exception {
+        String csv = "beerName,beerStyle,upc,price,quantityOnHand\n" +
+                "Csv 1,LAGER,2000000000001,4.50,10\n" +
+                "Csv 2,PORTER,2000000000002,5.25,\n";
+
+        BeerImportResult result = beerImportService.importCsv(stream(csv));
+
+        assertEquals(2, result.getAccepted());
+        assertEquals(0, result.getRejected());
+        assertNotNull(beerRepository.findByUpc("2000000000002"));
+    }
+
+    @Test
+    public void malformedInputKeepsCommittedChunks() throws Exception {
+        String ndjson = "{\"beerName\":\"Broken 1\",\"beerStyle\":\"ALE\",\"upc\":\"3000000000001\"}\n" +
+                "{\"beerName\":\"Broken 2\",\"beerStyle\":\"ALE\",\"upc\":\"3000000000002\"}\n" +
+                "{\"beerName\":\"Broken 3\",\n";
+
+        BeerImportResult result = beerImportService.importNdjson(stream(ndjson));
+
+        assertEquals(2, result.getAccepted());
+        assertNotNull(result.getAbortedReason());
+        assertNotNull(beerRepository.findByUpc("3000000000002"));
+    }
+
+    @Test
+    public void duplicateUpcRejectsOnlyItsChunk() throws Exception {
+        String existingUpc = beerRepository.findAll().get(0).getUpc();
+        String ndjson = "{\"beerName\":\"Dup 1\",\"beerStyle\":\"ALE\",\"upc\":\"4000000000001\"}\n" +
+                "{\"beerName\":\"Dup 2\",\"beerStyle\":\"ALE\",\"upc\":\"" + existingUpc + "\"}\n" +
+                "{\"beerName\":\"Dup 3\",\"beerStyle\":\"ALE\",\"upc\":\"4000000000003\"}\n";
+
+        BeerImportResult result = beerImportService.importNdjson(stream(ndjson));
+
+        assertEquals(1, result.getAccepted());
+        assertEquals(2, result.getRejected());
+        assertNull(result.getAbortedReason());
+        assertEquals(1, result.getChunks().get(0).getErrors().size());
+        assertNull(beerRepository.findByUpc("4000000000001"));
+        assertNotNull(beerRepository.findByUpc("4000000000003"));
+    }
+
+    @Test
+    public void rowErrorsAreCappedPerChunk() throws Exception {
+        String ndjson = "{\"beerName\":\"\",\"beerStyle\":\"ALE\",\"upc\":\"5000000000001\"}\n" +
+                "{\"beerName\":\"\",\"beerStyle\":\"ALE\",\"upc\":\"5000000000002\"}\n";
+
+        BeerImportResult result = beerImportService.importNdjson(stream(ndjson));
+
+        assertEquals(2, result.getRejected());
+        assertEquals(1, result.getChunks().get(0).getErrors().size());
+        assertTrue(result.getChunks().get(0).getErrors().get(0).startsWith("row 1 "));
+        assertEquals(1, result.getChunks().get(0).getOmittedErrors());
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,214 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.controller.BadRequestException;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "sfg.brewery.inventory.flush-interval-ms=3600000")
+public class BeerInventoryServiceImplTest {
+
+    @Autowired
+    BeerInventoryService beerInventoryService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void concurrentAdjustmentsAreNotLost() throws Exception {
+        Beer beer = beerRepository.findAll().get(0);
+        int start = beer.getQuantityOnHand();
+        Long version = beer.getVersion();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 250; j++) {
+                    beerInventoryService.adjust(beer.getId(), 2);
+                    beerInventoryService.adjust(beer.getId(), -1);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(start + 2000, beerInventoryService.getQuantityOnHand(beer.getId(), start));
+
+        beerInventoryService.flush();
+
+        Beer flushed = beerRepository.findById(beer.getId()).get();
+        assertEquals(start + 2000, flushed.getQuantityOnHand());
+        assertEquals(version, flushed.getVersion());
+    }
+
+    @Test
+    public void neverGoesNegative() {
+        Beer beer = beerRepository.findAll().get(1);
+        int onHand = beerInventoryService.adjust(beer.getId(), 0).getQuantityOnHand();
+
+        assertThrows(InsufficientInventoryException.class, () -> beerInventoryService.adjust(beer.getId(), -(onHand + 1)));
+        assertEquals(0, beerInventoryService.adjust(beer.getId(), -onHand).getQuantityOnHand());
+    }
+
+    @Test
+    public void quantityBeyondIntIsRejected() {
+        Beer beer = beerRepository.findAll().get(2);
+        int onHand = beerInventoryService.adjust(beer.getId(), 0).getQuantityOnHand();
+
+        assertThrows(BadRequestException.class, () -> beerInventoryService.adjust(beer.getId(), Integer.MAX_VALUE));
+        assertEquals(onHand, beerInventoryService.getQuantityOnHand(beer.getId(), null));
+    }
+
+    @Test
+    public void flushNeverTakesTheRowNegative() {
+        Beer beer = beerRepository.findAll().get(3);
+        int onHand = beerInventoryService.adjust(beer.getId(), 0).getQuantityOnHand();
+
+        //another instance sells all of it first
+        transactionTemplate.executeWithoutResult(status -> beerRepository.adjustQuantityOnHand(beer.getId(), -onHand));
+        beerRepository.evictCachedBeers(Collections.singleton(beer.getId()));
+
+        beerInventoryService.adjust(beer.getId(), -1);
+        beerInventoryService.flush();
+
+        assertEquals(0, beerRepository.findQuantityOnHandById(beer.getId()).get());
+        assertEquals(0, beerInventoryService.adjust(beer.getId(), 0).getQuantityOnHand());
+    }
+
+    @Test
+    public void staleCounterIsOnlyRetiredWhenNothingIsPending() {
+        BeerInventoryServiceImpl.InventoryCounter counter = new BeerInventoryServiceImpl.InventoryCounter(10);
+
+        counter.tryAdd(-3);
+        assertEquals(-3, counter.takeUnflushed());
+
+        //accepted after the flush took its delta, must survive the flush rejecting that delta
+        counter.tryAdd(-2);
+        assertFalse(counter.retire());
+        assertEquals(-2, counter.takeUnflushed());
+
+        assertTrue(counter.retire());
+        assertEquals(BeerInventoryServiceImpl.InventoryCounter.RETIRED, counter.tryAdd(1));
+        assertEquals(0, counter.takeUnflushed());
+    }
+
+    @Test
+    public void failedUpdatesAreRetried() {
+        Beer beer = beerRepository.findAll().get(4);
+        FailingTransactionManager failing = new FailingTransactionManager(transactionManager);
+        BeerInventoryServiceImpl inventory = new BeerInventoryServiceImpl(beerRepository, new TransactionTemplate(failing));
+        int onHand = inventory.adjust(beer.getId(), 5).getQuantityOnHand();
+
+        failing.failBegin = true;
+        assertEquals(0, inventory.flush());
+
+        failing.failBegin = false;
+        assertEquals(1, inventory.flush());
+        assertEquals(onHand, beerRepository.findQuantityOnHandById(beer.getId()).get());
+    }
+
+    @Test
+    public void failureAfterCommitIsNotRetried() {
+        Beer beer = beerRepository.findAll().get(5);
+        FailingTransactionManager failing = new FailingTransactionManager(transactionManager);
+        BeerInventoryServiceImpl inventory = new BeerInventoryServiceImpl(beerRepository, new TransactionTemplate(failing));
+        int onHand = inventory.adjust(beer.getId(), 5).getQuantityOnHand();
+
+        failing.failAfterCommit = true;
+        assertEquals(0, inventory.flush());
+
+        failing.failAfterCommit = false;
+        assertEquals(0, inventory.flush());
+        assertEquals(onHand, beerRepository.findQuantityOnHandById(beer.getId()).get());
+        assertEquals(onHand, inventory.adjust(beer.getId(), 0).getQuantityOnHand());
+    }
+
+    @Test
+    public void rolledBackDeleteKeepsPendingAdjustments() {
+        Beer beer = beerRepository.findAll().get(6);
+        int onHand = beerInventoryService.adjust(beer.getId(), 5).getQuantityOnHand();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            beerService.deleteBeerById(beer.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(onHand, beerInventoryService.getQuantityOnHand(beer.getId(), null));
+    }
+
+    @Test
+    public void unknownBeer() {
+        assertThrows(NotFoundException.class, () -> beerInventoryService.adjust(UUID.randomUUID(), 1));
+    }
+
+    /**
+     * Fails before the transaction starts, or once the delegate has committed, as a completion callback would.
+     */
+    static class FailingTransactionManager implements PlatformTransactionManager {
+
+        private final PlatformTransactionManager delegate;
+
+        volatile boolean failBegin;
+        volatile boolean failAfterCommit;
+
+        FailingTransactionManager(PlatformTransactionManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            if (failBegin) {
+                throw new TransactionSystemException("Could not begin");
+            }
+
+            return delegate.getTransaction(definition);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            delegate.commit(status);
+
+            if (failAfterCommit) {
+                throw new IllegalStateException("Cache manager is closed");
+            }
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            delegate.rollback(status);
+        }
+    }
+}
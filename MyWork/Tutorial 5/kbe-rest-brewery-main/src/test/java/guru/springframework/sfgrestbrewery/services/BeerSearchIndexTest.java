@@ -0,0 +1,80 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeerSearchIndexTest {
+
+    BeerSearchIndex index;
+
+    UUID galaxyCat = UUID.randomUUID();
+    UUID mangoBobs = UUID.randomUUID();
+    UUID veryHazy = UUID.randomUUID();
+    UUID veryGreen = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        index = new BeerSearchIndex(null, null);
+
+        index.index(galaxyCat, "Galaxy Cat", "9122089364369");
+        index.index(mangoBobs, "Mango Bobs", "0631234200036");
+        index.index(veryHazy, "Very Hazy", "5339741428398");
+        index.index(veryGreen, "Very GGGreenn", "5677465691934");
+    }
+
+    @Test
+    public void findsWordAnywhereInName() {
+        assertEquals(List.of(galaxyCat), index.search("galaxy", 10));
+        assertEquals(List.of(galaxyCat), index.search("CAT", 10));
+    }
+
+    @Test
+    public void findsByPrefix() {
+        assertEquals(List.of(mangoBobs), index.search("man", 10));
+        assertEquals(List.of(veryGreen, veryHazy), index.search("ver", 10));
+    }
+
+    @Test
+    public void findsByUpcPrefix() {
+        assertEquals(List.of(galaxyCat), index.search("912208", 10));
+    }
+
+    @Test
+    public void matchingMoreTermsRanksHigher() {
+        assertEquals(List.of(veryHazy, veryGreen), index.search("very hazy", 10));
+        assertEquals(List.of(veryHazy, veryGreen), index.search("ver haz", 10));
+        assertEquals(veryHazy, index.search("very hazzy", 10).get(0));
+    }
+
+    @Test
+    public void toleratesTypos() {
+        assertEquals(galaxyCat, index.search("galxy", 10).get(0));
+    }
+
+    @Test
+    public void reindexReplacesOldTerms() {
+        index.index(galaxyCat, "Nebula Dog", "9122089364369");
+
+        assertTrue(index.search("galaxy", 10).isEmpty());
+        assertEquals(List.of(galaxyCat), index.search("nebula", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void removeDropsBeer() {
+        index.remove(mangoBobs);
+
+        assertTrue(index.search("mango", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void respectsLimit() {
+        assertEquals(1, index.search("very", 1).size());
+    }
+}
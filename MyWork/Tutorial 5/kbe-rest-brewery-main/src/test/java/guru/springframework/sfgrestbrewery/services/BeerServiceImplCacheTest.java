@@ -0,0 +1,99 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@SpringBootTest
+public class BeerServiceImplCacheTest {
+
+    @MockBean
+    BeerRepository beerRepository;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    Beer beer;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        beer = Beer.builder().id(UUID.randomUUID())
+                .beerName("Beer1")
+                .beerStyle(BeerStyleEnum.PALE_ALE)
+                .upc("0631234200036")
+                .build();
+
+        given(beerRepository.findById(beer.getId())).willReturn(Optional.of(beer));
+        given(beerRepository.save(any(Beer.class))).willReturn(beer);
+    }
+
+    @Test
+    public void getByIdIsCached() {
+        beerService.getById(beer.getId(), false);
+        beerService.getById(beer.getId(), false);
+
+        then(beerRepository).should(times(1)).findById(beer.getId());
+    }
+
+    @Test
+    public void getByIdWithInventoryIsNotCached() {
+        beerService.getById(beer.getId(), true);
+        beerService.getById(beer.getId(), true);
+
+        then(beerRepository).should(times(2)).findById(beer.getId());
+    }
+
+    @Test
+    public void updateBeerEvictsCachedBeer() {
+        beerService.getById(beer.getId(), false);
+
+        beerService.updateBeer(beer.getId(), BeerDto.builder()
+                .beerName("Beer2")
+                .beerStyle("PALE_ALE")
+                .upc(beer.getUpc())
+                .build());
+
+        beerService.getById(beer.getId(), false);
+
+        //once for each read, once inside updateBeer
+        then(beerRepository).should(times(3)).findById(beer.getId());
+    }
+
+    @Test
+    public void getByIdsLoadsOnlyCacheMisses() {
+        UUID missingId = UUID.randomUUID();
+        given(beerRepository.findAllById(List.of(missingId))).willReturn(List.of());
+
+        beerService.getById(beer.getId(), false);
+        Map<UUID, BeerDto> beers = beerService.getByIds(List.of(beer.getId(), missingId));
+
+        assertEquals("Beer1", beers.get(beer.getId()).getBeerName());
+        assertNull(beers.get(missingId));
+        then(beerRepository).should(times(1)).findById(beer.getId());
+        then(beerRepository).should().findAllById(List.of(missingId));
+    }
+}
@@ -0,0 +1,59 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.controller.BadRequestException;
+import guru.springframework.sfgrestbrewery.web.model.BeerCursorPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BeerServiceImplCursorTest {
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    public void walksWholeCatalogueInOrder() {
+        List<BeerDto> beers = new ArrayList<>();
+        String token = null;
+
+        do {
+            BeerCursorPagedList page = beerService.listBeersByCursor(null, null, token, 7, false);
+            beers.addAll(page.getContent());
+            token = page.getContinuationToken();
+        } while (token != null);
+
+        assertEquals(beerRepository.count(), beers.size());
+        assertEquals(beers.size(), new HashSet<>(beers).size());
+
+        for (int i = 1; i < beers.size(); i++) {
+            assertTrue(beers.get(i - 1).getBeerName().compareTo(beers.get(i).getBeerName()) <= 0);
+        }
+    }
+
+    @Test
+    public void appliesStyleFilter() {
+        BeerCursorPagedList page = beerService.listBeersByCursor(null, BeerStyleEnum.IPA, null, 100, false);
+
+        assertFalse(page.getContent().isEmpty());
+        assertNull(page.getContinuationToken());
+        page.getContent().forEach(beer -> assertEquals("IPA", beer.getBeerStyle()));
+    }
+
+    @Test
+    public void rejectsMalformedToken() {
+        assertThrows(BadRequestException.class, () -> beerService.listBeersByCursor(null, null, "not-a-token", 5, false));
+    }
+}
@@ -0,0 +1,67 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.controller.BadRequestException;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BeerServiceImplFieldsTest {
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Test
+    public void listReturnsOnlyRequestedFields() {
+        Page<Map<String, Object>> page = beerService.listBeerFields(null, BeerStyleEnum.IPA, PageRequest.of(0, 5), "beerName, price", false);
+
+        assertFalse(page.getContent().isEmpty());
+        assertEquals(beerRepository.findAllByBeerStyle(BeerStyleEnum.IPA, PageRequest.of(0, 5)).getTotalElements(),
+                page.getTotalElements());
+
+        for (Map<String, Object> beer : page.getContent()) {
+            assertEquals(List.of("beerName", "price"), List.copyOf(beer.keySet()));
+        }
+    }
+
+    @Test
+    public void getByIdConvertsToDtoTypes() {
+        Beer beer = beerRepository.findAll().get(0);
+
+        Map<String, Object> fields = beerService.getBeerFieldsById(beer.getId(), "id,beerStyle,lastUpdatedDate", false);
+
+        assertEquals(beer.getId(), fields.get("id"));
+        assertEquals(beer.getBeerStyle().name(), fields.get("beerStyle"));
+        assertTrue(fields.get("lastUpdatedDate") instanceof OffsetDateTime);
+    }
+
+    @Test
+    public void unknownFieldIsRejected() {
+        assertThrows(BadRequestException.class,
+                () -> beerService.listBeerFields(null, null, PageRequest.of(0, 5), "beerName,secretRecipe", false));
+    }
+
+    @Test
+    public void quantityOnHandRequiresShowInventoryOnHand() {
+        Beer beer = beerRepository.findAll().get(0);
+
+        assertThrows(BadRequestException.class,
+                () -> beerService.getBeerFieldsById(beer.getId(), "beerName,quantityOnHand", false));
+        assertEquals(beer.getQuantityOnHand(),
+                beerService.getBeerFieldsById(beer.getId(), "beerName,quantityOnHand", true).get("quantityOnHand"));
+    }
+}
@@ -0,0 +1,64 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BeerServiceImplSearchTest {
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void committedWritesAreSearchable() {
+        BeerDto saved = beerService.saveNewBeer(beer("Qqxxcommitted", "5100000000001"));
+
+        assertEquals(List.of(saved.getId()), ids(beerService.searchBeers("qqxxcommitted", 10)));
+
+        beerService.deleteBeerById(saved.getId());
+
+        assertTrue(beerService.searchBeers("qqxxcommitted", 10).isEmpty());
+    }
+
+    @Test
+    public void rolledBackWritesAreNotIndexed() {
+        Beer existing = beerRepository.findAll().get(0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            beerService.saveNewBeer(beer("Qqxxghost", "5100000000002"));
+            beerService.updateBeer(existing.getId(), beer("Qqxxrenamed", existing.getUpc()));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(beerService.searchBeers("qqxxghost", 10).isEmpty());
+        assertTrue(beerService.searchBeers("qqxxrenamed", 10).isEmpty());
+    }
+
+    private static List<Object> ids(List<BeerDto> beers) {
+        return beers.stream().map(BeerDto::getId).collect(Collectors.toList());
+    }
+
+    private static BeerDto beer(String beerName, String upc) {
+        return BeerDto.builder()
+                .beerName(beerName)
+                .beerStyle("ALE")
+                .upc(upc)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "sfg.brewery.stats.recompute-interval-ms=3600000")
+public class BeerStatsServiceImplTest {
+
+    @Autowired
+    BeerStatsService beerStatsService;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void recomputeMatchesTheCatalogue() {
+        beerStatsService.recompute();
+
+        List<Beer> ales = beerRepository.findAll().stream()
+                .filter(beer -> beer.getBeerStyle() == BeerStyleEnum.ALE)
+                .collect(Collectors.toList());
+        List<BigDecimal> prices = ales.stream().map(Beer::getPrice).filter(Objects::nonNull).collect(Collectors.toList());
+
+        BeerStyleStats stats = stats(BeerStyleEnum.ALE);
+
+        assertEquals(ales.size(), stats.getBeers());
+        assertEquals(prices.stream().min(BigDecimal::compareTo).get(), stats.getMinPrice());
+        assertEquals(prices.stream().max(BigDecimal::compareTo).get(), stats.getMaxPrice());
+        assertEquals(ales.stream().mapToLong(Beer::getQuantityOnHand).sum(), stats.getQuantityOnHand());
+        assertNotNull(beerStatsService.getStats().getRecomputedDate());
+    }
+
+    @Test
+    public void writesAreAppliedIncrementally() {
+        beerStatsService.recompute();
+        BeerStyleStats before = stats(BeerStyleEnum.GOSE);
+
+        BeerDto saved = beerService.saveNewBeer(beer("0900000000001", "GOSE", "999.99"));
+
+        BeerStyleStats added = stats(BeerStyleEnum.GOSE);
+        assertEquals(before.getBeers() + 1, added.getBeers());
+        assertEquals(new BigDecimal("999.99"), added.getMaxPrice());
+        assertEquals(before.getQuantityOnHand() + 10, added.getQuantityOnHand());
+
+        beerService.updateBeer(saved.getId(), beer("0900000000001", "SAISON", "0.50"));
+
+        assertEquals(before, stats(BeerStyleEnum.GOSE));
+        assertEquals(new BigDecimal("0.50"), stats(BeerStyleEnum.SAISON).getMinPrice());
+
+        BeerStyleStats saisonBefore = stats(BeerStyleEnum.SAISON);
+        beerService.deleteBeerById(saved.getId());
+
+        BeerStyleStats saisonAfter = stats(BeerStyleEnum.SAISON);
+        assertEquals(saisonBefore.getBeers() - 1, saisonAfter.getBeers());
+        assertTrue(saisonAfter.getMinPrice().compareTo(new BigDecimal("0.50")) > 0);
+
+        beerStatsService.recompute();
+        assertEquals(saisonAfter, stats(BeerStyleEnum.SAISON));
+    }
+
+    @Test
+    public void rolledBackWritesAreNotCounted() {
+        beerStatsService.recompute();
+        BeerStyleStats before = stats(BeerStyleEnum.WHEAT);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            beerService.saveNewBeer(beer("0900000000002", "WHEAT", "12.00"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before, stats(BeerStyleEnum.WHEAT));
+    }
+
+    private BeerStyleStats stats(BeerStyleEnum beerStyle) {
+        return beerStatsService.getStats().getStyles().get(beerStyle);
+    }
+
+    private static BeerDto beer(String upc, String beerStyle, String price) {
+        return BeerDto.builder()
+                .beerName("Stats Beer")
+                .beerStyle(beerStyle)
+                .upc(upc)
+                .price(new BigDecimal(price))
+                .quantityOnHand(10)
+                .build();
+    }
+}
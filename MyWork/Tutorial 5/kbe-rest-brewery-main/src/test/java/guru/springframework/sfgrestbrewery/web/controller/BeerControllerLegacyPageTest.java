@@ -0,0 +1,47 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BeerController.class, properties = "sfg.brewery.api.legacy-page-format=true")
+@Import({RenderedBeerPages.class, IdempotentBeerCreation.class})
+public class BeerControllerLegacyPageTest {
+
+    @MockBean
+    BeerService beerService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void listBeersInLegacyShape() throws Exception {
+        BeerDto beer = BeerDto.builder().id(UUID.randomUUID()).beerName("Beer1").beerStyle("PALE_ALE").build();
+        given(beerService.listBeers(any(), any(), any(), any()))
+                .willReturn(new BeerPagedList(List.of(beer), PageRequest.of(0, 25), 1));
+
+        mockMvc.perform(get("/api/v1/beer").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].beerName", is("Beer1")))
+                .andExpect(jsonPath("$.pageable.pageSize", is(25)))
+                .andExpect(jsonPath("$.numberOfElements", is(1)))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+}
@@ -1,27 +1,44 @@
 package guru.springframework.sfgrestbrewery.web.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
 import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerCursorPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerSlicedList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BeerController.class)
+@Import({RenderedBeerPages.class, IdempotentBeerCreation.class})
 public class BeerControllerTest {
 
     @MockBean
@@ -55,6 +72,124 @@ public class BeerControllerTest {
                 .andExpect(jsonPath("$.beerName", is("Beer1")));
     }
 
+    @Test
+    public void getBeerSetsETag() throws Exception {
+        validBeer.setVersion(3L);
+        given(beerService.getById(any(UUID.class), any())).willReturn(validBeer);
+
+        mockMvc.perform(get("/api/v1/beer/" + validBeer.getId().toString()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + validBeer.getId() + "-3\""));
+    }
+
+    @Test
+    public void getBeerNotModified() throws Exception {
+        given(beerService.getVersion(validBeer.getId())).willReturn(3L);
+
+        mockMvc.perform(get("/api/v1/beer/" + validBeer.getId().toString())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + validBeer.getId() + "-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        then(beerService).should(never()).getById(any(), any());
+    }
+
+    @Test
+    public void listBeersWritesRenderedPage() throws Exception {
+        given(beerService.listBeers(any(), any(), any(), any()))
+                .willReturn(new BeerPagedList(List.of(validBeer), PageRequest.of(0, 25), 1));
+
+        mockMvc.perform(get("/api/v1/beer").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.version", is(2)))
+                .andExpect(jsonPath("$.content[0].beerName", is("Beer1")))
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    public void listBeersAsCbor() throws Exception {
+        given(beerService.listBeers(any(), any(), any(), any()))
+                .willReturn(new BeerPagedList(List.of(validBeer), PageRequest.of(0, 25), 1));
+
+        byte[] body = mockMvc.perform(get("/api/v1/beer").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BeerPage<BeerDto> page = new ObjectMapper(new CBORFactory()).findAndRegisterModules()
+                .readValue(body, new TypeReference<BeerPage<BeerDto>>() {});
+
+        assertEquals("Beer1", page.getContent().get(0).getBeerName());
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    public void cborAndJsonPagesHaveTheirOwnETags() throws Exception {
+        given(beerService.listBeers(any(), any(), any(), any()))
+                .willReturn(new BeerPagedList(List.of(validBeer), PageRequest.of(0, 25), 1));
+
+        String jsonETag = mockMvc.perform(get("/api/v1/beer").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String cborETag = mockMvc.perform(get("/api/v1/beer").accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/beer").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/beer").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void getBeerAsCborIsNotRevalidatedWithTheJsonETag() throws Exception {
+        given(beerService.getVersion(validBeer.getId())).willReturn(3L);
+        validBeer.setVersion(3L);
+        given(beerService.getById(any(UUID.class), any())).willReturn(validBeer);
+
+        mockMvc.perform(get("/api/v1/beer/" + validBeer.getId()).accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + validBeer.getId() + "-3\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + validBeer.getId() + "-3-cbor\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void getBeerWithFields() throws Exception {
+        given(beerService.getBeerFieldsById(validBeer.getId(), "beerName,price", false))
+                .willReturn(Map.of("beerName", "Beer1", "price", new BigDecimal("12.95")));
+
+        mockMvc.perform(get("/api/v1/beer/" + validBeer.getId()).param("fields", "beerName,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.beerName", is("Beer1")))
+                .andExpect(jsonPath("$.price", is(12.95)))
+                .andExpect(jsonPath("$.upc").doesNotExist());
+    }
+
+    @Test
+    public void listBeerSlice() throws Exception {
+        given(beerService.listBeerSlice(any(), any(), any(), any())).willReturn(BeerSlicedList.builder()
+                .content(List.of(validBeer))
+                .number(0)
+                .size(25)
+                .hasNext(true)
+                .build());
+
+        mockMvc.perform(get("/api/v1/beer/slice").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].beerName", is("Beer1")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     public void handlePost() throws Exception {
         //given
@@ -72,6 +207,49 @@ public class BeerControllerTest {
 
     }
 
+    @Test
+    public void listBeersByCursorCapsPageSize() throws Exception {
+        given(beerService.listBeersByCursor(any(), any(), any(), anyInt(), any()))
+                .willReturn(BeerCursorPagedList.builder().content(List.of(validBeer)).size(25).build());
+
+        mockMvc.perform(get("/api/v1/beer/cursor").param("pageSize", String.valueOf(Integer.MAX_VALUE))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].beerName", is("Beer1")));
+
+        then(beerService).should().listBeersByCursor(null, null, null, 25, false);
+    }
+
+    @Test
+    public void handlePostDuplicateUpc() throws Exception {
+        BeerDto beerDto = validBeer;
+        beerDto.setId(null);
+
+        given(beerService.saveNewBeer(any())).willThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UX_BEER_UPC ON PUBLIC.BEER(UPC)\"")));
+
+        mockMvc.perform(post("/api/v1/beer/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(beerDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0]", is("Conflicts with an existing beer, UPCs must be unique")));
+    }
+
+    @Test
+    public void handlePostOtherConstraintViolation() throws Exception {
+        BeerDto beerDto = validBeer;
+        beerDto.setId(null);
+
+        given(beerService.saveNewBeer(any())).willThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Referential integrity constraint violation: \"FK_BEER_ORDER_LINE\"")));
+
+        mockMvc.perform(post("/api/v1/beer/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(beerDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0]", is("Conflicts with the current state of the data")));
+    }
+
     @Test
     public void handleUpdate() throws Exception {
         //given
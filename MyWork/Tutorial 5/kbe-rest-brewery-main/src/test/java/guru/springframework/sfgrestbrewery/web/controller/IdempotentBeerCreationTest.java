@@ -0,0 +1,148 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class IdempotentBeerCreationTest {
+
+    @MockBean
+    BeerService beerService;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    BeerDto beer;
+
+    @BeforeEach
+    public void setUp() {
+        beer = BeerDto.builder()
+                .beerName("Retried Beer")
+                .beerStyle("ALE")
+                .upc("5000000000001")
+                .price(new BigDecimal("9.99"))
+                .build();
+
+        given(beerService.saveNewBeer(any())).willAnswer(invocation -> saved());
+    }
+
+    @Test
+    public void retryGetsTheOriginalResponse() {
+        String key = UUID.randomUUID().toString();
+
+        ResponseEntity<Void> first = post(key, beer);
+        ResponseEntity<Void> retry = post(key, beer);
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNull(first.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getHeaders().getLocation(), retry.getHeaders().getLocation());
+        assertEquals("true", retry.getHeaders().getFirst("Idempotent-Replayed"));
+
+        then(beerService).should(times(1)).saveNewBeer(any());
+    }
+
+    @Test
+    public void keyReusedForAnotherBeerIsRejected() {
+        String key = UUID.randomUUID().toString();
+        post(key, beer);
+
+        beer.setBeerName("Another Beer");
+
+        assertEquals(HttpStatus.BAD_REQUEST, post(key, beer).getStatusCode());
+        then(beerService).should(times(1)).saveNewBeer(any());
+    }
+
+    @Test
+    public void concurrentDuplicatesShareOneCreate() throws Exception {
+        given(beerService.saveNewBeer(any())).willAnswer(invocation -> {
+            Thread.sleep(300);
+            return saved();
+        });
+
+        String key = UUID.randomUUID().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Callable<ResponseEntity<Void>>> requests = IntStream.range(0, 8)
+                    .mapToObj(i -> (Callable<ResponseEntity<Void>>) () -> post(key, beer))
+                    .collect(Collectors.toList());
+
+            List<ResponseEntity<Void>> responses = executor.invokeAll(requests).stream()
+                    .map(IdempotentBeerCreationTest::result)
+                    .collect(Collectors.toList());
+
+            assertTrue(responses.stream().allMatch(response -> response.getStatusCode() == HttpStatus.CREATED));
+            assertEquals(1, responses.stream().map(response -> response.getHeaders().getLocation()).distinct().count());
+        } finally {
+            executor.shutdown();
+        }
+
+        then(beerService).should(times(1)).saveNewBeer(any());
+    }
+
+    @Test
+    public void failedCreateCanBeRetried() {
+        given(beerService.saveNewBeer(any()))
+                .willThrow(new DataIntegrityViolationException("ux_beer_upc"))
+                .willAnswer(invocation -> saved());
+
+        String key = UUID.randomUUID().toString();
+
+        assertEquals(HttpStatus.CONFLICT, post(key, beer).getStatusCode());
+        assertEquals(HttpStatus.CREATED, post(key, beer).getStatusCode());
+        then(beerService).should(times(2)).saveNewBeer(any());
+    }
+
+    @Test
+    public void blankKeyIsRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, post(" ", beer).getStatusCode());
+        then(beerService).shouldHaveNoInteractions();
+    }
+
+    private ResponseEntity<Void> post(String idempotencyKey, BeerDto beerDto) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", idempotencyKey);
+
+        return restTemplate.postForEntity("/api/v1/beer", new HttpEntity<>(beerDto, headers), Void.class);
+    }
+
+    private static BeerDto saved() {
+        return BeerDto.builder().id(UUID.randomUUID()).build();
+    }
+
+    private static <T> T result(Future<T> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class RenderedBeerPagesTest {
+
+    @Autowired
+    RenderedBeerPages renderedBeerPages;
+
+    @Autowired
+    BeerService beerService;
+
+    @Test
+    public void renderedPageIsCachedUntilCatalogueChanges() {
+        RenderedBeerPage first = renderedBeerPages.render(null, null, PageRequest.of(0, 25));
+
+        assertSame(first, renderedBeerPages.render(null, null, PageRequest.of(0, 25)));
+
+        beerService.saveNewBeer(BeerDto.builder()
+                .beerName("Rendered Beer")
+                .beerStyle("ALE")
+                .upc("4000000000001")
+                .price(new BigDecimal("9.99"))
+                .build());
+
+        RenderedBeerPage second = renderedBeerPages.render(null, null, PageRequest.of(0, 25));
+
+        assertNotSame(first, second);
+        assertNotEquals(first.getETag(), second.getETag());
+    }
+}
@@ -0,0 +1,56 @@
+package guru.springframework.sfgrestbrewery.web.mappers;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringJUnitConfig({BeerMapperImpl.class, DateMapper.class})
+public class BeerMapperTest {
+
+    @Autowired
+    BeerMapper beerMapper;
+
+    @Autowired
+    DateMapper dateMapper;
+
+    //page ETags take their last-updated component from this property
+    @Test
+    public void lastModifiedDateBecomesLastUpdatedDate() {
+        Timestamp lastModified = Timestamp.valueOf("2021-03-07 13:45:10");
+        Beer beer = Beer.builder()
+                .id(UUID.randomUUID())
+                .version(2L)
+                .beerName("Mango Bobs")
+                .beerStyle(BeerStyleEnum.ALE)
+                .lastModifiedDate(lastModified)
+                .build();
+
+        assertEquals(dateMapper.asOffsetDateTime(lastModified), beerMapper.beerToBeerDto(beer).getLastUpdatedDate());
+        assertEquals(dateMapper.asOffsetDateTime(lastModified), beerMapper.beerToBeerDtoWithInventory(beer).getLastUpdatedDate());
+    }
+
+    @Test
+    public void quantityOnHandOnlyWithInventory() {
+        Beer beer = Beer.builder().id(UUID.randomUUID()).quantityOnHand(42).build();
+
+        assertNull(beerMapper.beerToBeerDto(beer).getQuantityOnHand());
+        assertEquals(42, beerMapper.beerToBeerDtoWithInventory(beer).getQuantityOnHand());
+    }
+
+    @Test
+    public void lastUpdatedDateIsNotWrittenBack() {
+        BeerDto beerDto = beerMapper.beerToBeerDto(Beer.builder()
+                .lastModifiedDate(Timestamp.valueOf("2021-03-07 13:45:10"))
+                .build());
+
+        assertNull(beerMapper.beerDtoToBeer(beerDto).getLastModifiedDate());
+    }
+}
@@ -0,0 +1,42 @@
+package guru.springframework.sfgrestbrewery.web.mappers;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateMapperTest {
+
+    DateMapper dateMapper = new DateMapper();
+
+    @Test
+    public void asOffsetDateTimeKeepsLocalFieldsAsUtc() {
+        Timestamp ts = Timestamp.valueOf("2021-03-07 13:45:10.123456789");
+
+        assertEquals(OffsetDateTime.of(2021, 3, 7, 13, 45, 10, 123456789, ZoneOffset.UTC),
+                dateMapper.asOffsetDateTime(ts));
+    }
+
+    @Test
+    public void asTimestampConvertsToUtc() {
+        OffsetDateTime odt = OffsetDateTime.of(2021, 3, 7, 15, 45, 10, 500, ZoneOffset.ofHours(2));
+
+        assertEquals(Timestamp.valueOf("2021-03-07 13:45:10.0000005"), dateMapper.asTimestamp(odt));
+    }
+
+    @Test
+    public void roundTrips() {
+        Timestamp ts = Timestamp.valueOf("2019-05-25 08:00:00.5");
+
+        assertEquals(ts, dateMapper.asTimestamp(dateMapper.asOffsetDateTime(ts)));
+    }
+
+    @Test
+    public void nullsPassThrough() {
+        assertNull(dateMapper.asOffsetDateTime(null));
+        assertNull(dateMapper.asTimestamp(null));
+    }
+}
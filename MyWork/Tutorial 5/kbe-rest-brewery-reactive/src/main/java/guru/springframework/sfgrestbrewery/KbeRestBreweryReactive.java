@@ -0,0 +1,13 @@
+package guru.springframework.sfgrestbrewery;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class KbeRestBreweryReactive {
+
+	public static void main(String[] args) {
+		SpringApplication.run(KbeRestBreweryReactive.class, args);
+	}
+
+}
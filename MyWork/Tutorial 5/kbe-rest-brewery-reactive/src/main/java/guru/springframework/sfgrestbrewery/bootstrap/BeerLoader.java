@@ -0,0 +1,120 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Loads the same 30 beers as the servlet edition so both stacks can be compared on equal data.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BeerLoader implements CommandLineRunner {
+
+    public static final String BEER_1_UPC = "0631234200036";
+    public static final String BEER_2_UPC = "9122089364369";
+    public static final String BEER_3_UPC = "0083783375213";
+    public static final String BEER_4_UPC = "4666337557578";
+    public static final String BEER_5_UPC = "8380495518610";
+    public static final String BEER_6_UPC = "5677465691934";
+    public static final String BEER_7_UPC = "5463533082885";
+    public static final String BEER_8_UPC = "5339741428398";
+    public static final String BEER_9_UPC = "1726923962766";
+    public static final String BEER_10_UPC = "8484957731774";
+    public static final String BEER_11_UPC = "6266328524787";
+    public static final String BEER_12_UPC = "7490217802727";
+    public static final String BEER_13_UPC = "8579613295827";
+    public static final String BEER_14_UPC = "2318301340601";
+    public static final String BEER_15_UPC = "9401790633828";
+    public static final String BEER_16_UPC = "4813896316225";
+    public static final String BEER_17_UPC = "3431272499891";
+    public static final String BEER_18_UPC = "2380867498485";
+    public static final String BEER_19_UPC = "4323950503848";
+    public static final String BEER_20_UPC = "4006016803570";
+    public static final String BEER_21_UPC = "9883012356263";
+    public static final String BEER_22_UPC = "0583668718888";
+    public static final String BEER_23_UPC = "9006801347604";
+    public static final String BEER_24_UPC = "0610275742736";
+    public static final String BEER_25_UPC = "6504219363283";
+    public static final String BEER_26_UPC = "7245173761003";
+    public static final String BEER_27_UPC = "0326984155094";
+    public static final String BEER_28_UPC = "1350188843012";
+    public static final String BEER_29_UPC = "0986442492927";
+    public static final String BEER_30_UPC = "8670687641074";
+
+
+    private final BeerRepository beerRepository;
+
+    @Override
+    public void run(String... args) throws Exception {
+        loadBeerObjects();
+    }
+
+    private synchronized void loadBeerObjects() {
+        Long count = beerRepository.count().block();
+        log.debug("Loading initial data. Count is: {}", count);
+
+        if (count != null && count == 0) {
+
+            Random random = new Random();
+
+            Long loaded = beerRepository.saveAll(Flux.just(
+                beer("Mango Bobs", BeerStyleEnum.ALE, BEER_1_UPC, random),
+                beer("Galaxy Cat", BeerStyleEnum.PALE_ALE, BEER_2_UPC, random),
+                beer("No Hammers On The Bar", BeerStyleEnum.WHEAT, BEER_3_UPC, random),
+                beer("Blessed", BeerStyleEnum.STOUT, BEER_4_UPC, random),
+                beer("Adjunct Trail", BeerStyleEnum.STOUT, BEER_5_UPC, random),
+                beer("Very GGGreenn", BeerStyleEnum.IPA, BEER_6_UPC, random),
+                beer("Double Barrel Hunahpu's", BeerStyleEnum.STOUT, BEER_7_UPC, random),
+                beer("Very Hazy", BeerStyleEnum.IPA, BEER_8_UPC, random),
+                beer("SR-71", BeerStyleEnum.STOUT, BEER_9_UPC, random),
+                beer("Pliny the Younger", BeerStyleEnum.IPA, BEER_10_UPC, random),
+                beer("Blessed", BeerStyleEnum.STOUT, BEER_11_UPC, random),
+                beer("King Krush", BeerStyleEnum.IPA, BEER_12_UPC, random),
+                beer("PBS Porter", BeerStyleEnum.PORTER, BEER_13_UPC, random),
+                beer("Pinball Porter", BeerStyleEnum.STOUT, BEER_14_UPC, random),
+                beer("Golden Budda", BeerStyleEnum.STOUT, BEER_15_UPC, random),
+                beer("Grand Central Red", BeerStyleEnum.LAGER, BEER_16_UPC, random),
+                beer("Pac-Man", BeerStyleEnum.STOUT, BEER_17_UPC, random),
+                beer("Ro Sham Bo", BeerStyleEnum.IPA, BEER_18_UPC, random),
+                beer("Summer Wheatly", BeerStyleEnum.WHEAT, BEER_19_UPC, random),
+                beer("Java Jill", BeerStyleEnum.LAGER, BEER_20_UPC, random),
+                beer("Bike Trail Pale", BeerStyleEnum.PALE_ALE, BEER_21_UPC, random),
+                beer("N.Z.P", BeerStyleEnum.IPA, BEER_22_UPC, random),
+                beer("Stawberry Blond", BeerStyleEnum.WHEAT, BEER_23_UPC, random),
+                beer("Loco", BeerStyleEnum.PORTER, BEER_24_UPC, random),
+                beer("Spocktoberfest", BeerStyleEnum.STOUT, BEER_25_UPC, random),
+                beer("Beach Blond Ale", BeerStyleEnum.ALE, BEER_26_UPC, random),
+                beer("Bimini Twist IPA", BeerStyleEnum.IPA, BEER_27_UPC, random),
+                beer("Rod Bender Red Ale", BeerStyleEnum.ALE, BEER_28_UPC, random),
+                beer("Floating Dock", BeerStyleEnum.SAISON, BEER_29_UPC, random),
+                beer("El Hefe", BeerStyleEnum.WHEAT, BEER_30_UPC, random)))
+                    .count()
+                    .block();
+
+            log.debug("Beer Records loaded: {}", loaded);
+        }
+    }
+
+    private Beer beer(String beerName, BeerStyleEnum beerStyle, String upc, Random random) {
+        return Beer.builder()
+                .id(UUID.randomUUID())
+                .beerName(beerName)
+                .beerStyle(beerStyle)
+                .upc(upc)
+                .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                .quantityOnHand(random.nextInt(5000))
+                .build();
+    }
+}
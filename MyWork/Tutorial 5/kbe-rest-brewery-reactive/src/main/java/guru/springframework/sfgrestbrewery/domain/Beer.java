@@ -0,0 +1,44 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * R2DBC mapping of the beer table. Ids are assigned by the service before insert, a null version marks the row as new.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Beer {
+
+    @Id
+    private UUID id;
+
+    @Version
+    private Long version;
+
+    private String beerName;
+    private BeerStyleEnum beerStyle;
+    private String upc;
+
+    private Integer quantityOnHand;
+    private BigDecimal price;
+
+    @CreatedDate
+    private LocalDateTime createdDate;
+
+    @LastModifiedDate
+    private LocalDateTime lastModifiedDate;
+}
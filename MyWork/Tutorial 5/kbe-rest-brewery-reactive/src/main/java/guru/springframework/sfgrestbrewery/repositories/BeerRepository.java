@@ -0,0 +1,30 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+
+public interface BeerRepository extends ReactiveCrudRepository<Beer, UUID> {
+    Flux<Beer> findAllBy(Pageable pageable);
+
+    Flux<Beer> findAllByBeerName(String beerName, Pageable pageable);
+
+    Flux<Beer> findAllByBeerStyle(BeerStyleEnum beerStyle, Pageable pageable);
+
+    Flux<Beer> findAllByBeerNameAndBeerStyle(String beerName, BeerStyleEnum beerStyle, Pageable pageable);
+
+    Mono<Long> countByBeerName(String beerName);
+
+    Mono<Long> countByBeerStyle(BeerStyleEnum beerStyle);
+
+    Mono<Long> countByBeerNameAndBeerStyle(String beerName, BeerStyleEnum beerStyle);
+
+    Mono<Beer> findByUpc(String upc);
+}
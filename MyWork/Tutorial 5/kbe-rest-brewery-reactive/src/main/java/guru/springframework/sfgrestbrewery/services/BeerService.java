@@ -0,0 +1,23 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface BeerService {
+    Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand);
+
+    Mono<BeerDto> getById(UUID beerId, Boolean showInventoryOnHand);
+
+    Mono<BeerDto> saveNewBeer(BeerDto beerDto);
+
+    Mono<BeerDto> updateBeer(UUID beerId, BeerDto beerDto);
+
+    Mono<BeerDto> getByUpc(String upc);
+
+    Mono<Void> deleteBeerById(UUID beerId);
+}
@@ -0,0 +1,98 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the servlet BeerServiceImpl. Every call returns a cold publisher,
+ * nothing touches the database until the web layer subscribes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerServiceImpl implements BeerService {
+    private final BeerRepository beerRepository;
+    private final BeerMapper beerMapper;
+
+    @Override
+    public Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand) {
+
+        Flux<Beer> beers;
+        Mono<Long> count;
+
+        if (StringUtils.hasLength(beerName) && beerStyle != null) {
+            beers = beerRepository.findAllByBeerNameAndBeerStyle(beerName, beerStyle, pageRequest);
+            count = beerRepository.countByBeerNameAndBeerStyle(beerName, beerStyle);
+        } else if (StringUtils.hasLength(beerName)) {
+            beers = beerRepository.findAllByBeerName(beerName, pageRequest);
+            count = beerRepository.countByBeerName(beerName);
+        } else if (beerStyle != null) {
+            beers = beerRepository.findAllByBeerStyle(beerStyle, pageRequest);
+            count = beerRepository.countByBeerStyle(beerStyle);
+        } else {
+            beers = beerRepository.findAllBy(pageRequest);
+            count = beerRepository.count();
+        }
+
+        return beers
+                .map(showInventoryOnHand ? beerMapper::beerToBeerDtoWithInventory : beerMapper::beerToBeerDto)
+                .collectList()
+                .zipWith(count)
+                .map(pageAndCount -> new BeerPagedList(pageAndCount.getT1(),
+                        PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize()),
+                        pageAndCount.getT2()));
+    }
+
+    @Override
+    public Mono<BeerDto> getById(UUID beerId, Boolean showInventoryOnHand) {
+        return beerRepository.findById(beerId)
+                .map(showInventoryOnHand ? beerMapper::beerToBeerDtoWithInventory : beerMapper::beerToBeerDto);
+    }
+
+    @Override
+    public Mono<BeerDto> saveNewBeer(BeerDto beerDto) {
+        Beer beer = beerMapper.beerDtoToBeer(beerDto);
+        beer.setId(UUID.randomUUID());
+
+        return beerRepository.save(beer).map(beerMapper::beerToBeerDto);
+    }
+
+    @Override
+    public Mono<BeerDto> updateBeer(UUID beerId, BeerDto beerDto) {
+        return beerRepository.findById(beerId)
+                .switchIfEmpty(Mono.error(NotFoundException::new))
+                .flatMap(beer -> {
+                    beer.setBeerName(beerDto.getBeerName());
+                    beer.setBeerStyle(BeerStyleEnum.valueOf(beerDto.getBeerStyle()));
+                    beer.setPrice(beerDto.getPrice());
+                    beer.setUpc(beerDto.getUpc());
+
+                    return beerRepository.save(beer);
+                })
+                .map(beerMapper::beerToBeerDto);
+    }
+
+    @Override
+    public Mono<BeerDto> getByUpc(String upc) {
+        return beerRepository.findByUpc(upc).map(beerMapper::beerToBeerDto);
+    }
+
+    @Override
+    public Mono<Void> deleteBeerById(UUID beerId) {
+        return beerRepository.deleteById(beerId);
+    }
+}
@@ -0,0 +1,101 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Same /api/v1/beer contract as the servlet edition, served from the event loop.
+ */
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/")
+@RestController
+public class BeerController {
+
+    private static final Integer DEFAULT_PAGE_NUMBER = 0;
+    private static final Integer DEFAULT_PAGE_SIZE = 25;
+
+    private final BeerService beerService;
+
+    @GetMapping(produces = { "application/json" }, path = "beer")
+    public Mono<ResponseEntity<BeerPagedList>> listBeers(@RequestParam(value = "pageNumber", required = false) Integer pageNumber,
+                                                         @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                                                         @RequestParam(value = "beerName", required = false) String beerName,
+                                                         @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle,
+                                                         @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand){
+
+        if (showInventoryOnHand == null) {
+            showInventoryOnHand = false;
+        }
+
+        if (pageNumber == null || pageNumber < 0){
+            pageNumber = DEFAULT_PAGE_NUMBER;
+        }
+
+        if (pageSize == null || pageSize < 1) {
+            pageSize = DEFAULT_PAGE_SIZE;
+        }
+
+        return beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), showInventoryOnHand)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("beer/{beerId}")
+    public Mono<ResponseEntity<BeerDto>> getBeerById(@PathVariable("beerId") UUID beerId,
+                                                     @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand){
+        if (showInventoryOnHand == null) {
+            showInventoryOnHand = false;
+        }
+
+        return beerService.getById(beerId, showInventoryOnHand)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    //an unknown UPC is 200 with no body, as in the servlet edition
+    @GetMapping("beerUpc/{upc}")
+    public Mono<ResponseEntity<BeerDto>> getBeerByUpc(@PathVariable("upc") String upc){
+        return beerService.getByUpc(upc)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    @PostMapping(path = "beer")
+    public Mono<ResponseEntity<Void>> saveNewBeer(@RequestBody @Validated BeerDto beerDto){
+
+        return beerService.saveNewBeer(beerDto)
+                .map(savedBeer -> ResponseEntity
+                        .created(UriComponentsBuilder
+                                .fromHttpUrl("http://api.springframework.guru/api/v1/beer/" + savedBeer.getId().toString())
+                                .build().toUri())
+                        .build());
+    }
+
+    @PutMapping("beer/{beerId}")
+    public Mono<ResponseEntity<Void>> updateBeerById(@PathVariable("beerId") UUID beerId, @RequestBody @Validated BeerDto beerDto){
+        return beerService.updateBeer(beerId, beerDto)
+                .map(updatedBeer -> new ResponseEntity<Void>(HttpStatus.NO_CONTENT));
+    }
+
+    @DeleteMapping("beer/{beerId}")
+    public Mono<ResponseEntity<Void>> deleteBeerById(@PathVariable("beerId") UUID beerId){
+        return beerService.deleteBeerById(beerId)
+                .thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Void> handleNotFound(){
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,7 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+/**
+ * Created by jt on 2019-06-06.
+ */
+public class NotFoundException extends RuntimeException {
+}
@@ -0,0 +1,20 @@
+package guru.springframework.sfgrestbrewery.web.mappers;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(uses = {DateMapper.class})
+public interface BeerMapper {
+
+    @Mapping(target = "lastUpdatedDate", source = "lastModifiedDate")
+    BeerDto beerToBeerDto(Beer beer);
+
+    @Mapping(target = "lastUpdatedDate", source = "lastModifiedDate")
+    BeerDto beerToBeerDtoWithInventory(Beer beer);
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    Beer beerDtoToBeer(BeerDto dto);
+}
@@ -0,0 +1,29 @@
+package guru.springframework.sfgrestbrewery.web.mappers;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Timestamps are stored as UTC local date times.
+ */
+@Component
+public class DateMapper {
+    public OffsetDateTime asOffsetDateTime(LocalDateTime localDateTime){
+        if (localDateTime != null){
+            return OffsetDateTime.of(localDateTime, ZoneOffset.UTC);
+        } else {
+            return null;
+        }
+    }
+
+    public LocalDateTime asLocalDateTime(OffsetDateTime offsetDateTime){
+        if(offsetDateTime != null) {
+            return offsetDateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } else {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Null;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Created by jt on 2019-04-20.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerDto {
+
+    @Null
+    private UUID id;
+
+    private Long version;
+
+    @NotBlank
+    private String beerName;
+
+    @NotBlank
+    private String beerStyle;
+
+    private String upc;
+
+    private BigDecimal price;
+
+    private Integer quantityOnHand;
+
+    private OffsetDateTime createdDate;
+    private OffsetDateTime lastUpdatedDate;
+}
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS beer
+(
+    id                 UUID         NOT NULL PRIMARY KEY,
+    version            BIGINT,
+    beer_name          VARCHAR(255),
+    beer_style         VARCHAR(255),
+    upc                VARCHAR(255),
+    quantity_on_hand   INTEGER,
+    price              DECIMAL(19, 2),
+    created_date       TIMESTAMP,
+    last_modified_date TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS ix_beer_name_id ON beer (beer_name, id);
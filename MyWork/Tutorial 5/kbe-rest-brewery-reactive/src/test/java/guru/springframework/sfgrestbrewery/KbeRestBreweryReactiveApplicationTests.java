@@ -0,0 +1,41 @@
+package guru.springframework.sfgrestbrewery;
+
+
+import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class KbeRestBreweryReactiveApplicationTests {
+
+	@Autowired
+	WebTestClient webTestClient;
+
+	@Test
+	public void contextLoads() {
+	}
+
+	@Test
+	public void listBeers() {
+		webTestClient.get().uri("/api/v1/beer?pageSize=10&beerStyle=IPA")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.content.length()").isEqualTo(7)
+				.jsonPath("$.totalElements").isEqualTo(7)
+				.jsonPath("$.content[0].beerStyle").isEqualTo("IPA");
+	}
+
+	@Test
+	public void getBeerByUpc() {
+		webTestClient.get().uri("/api/v1/beerUpc/" + BeerLoader.BEER_2_UPC)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.beerName").isEqualTo("Galaxy Cat");
+	}
+}
@@ -0,0 +1,112 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@WebFluxTest(BeerController.class)
+public class BeerControllerTest {
+
+    @MockBean
+    BeerService beerService;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    BeerDto validBeer;
+
+    @BeforeEach
+    public void setUp() {
+        validBeer = BeerDto.builder().id(UUID.randomUUID())
+                .beerName("Beer1")
+                .beerStyle("PALE_ALE")
+                .upc(BeerLoader.BEER_2_UPC)
+                .build();
+    }
+
+    @Test
+    public void getBeer() {
+        given(beerService.getById(any(UUID.class), any())).willReturn(Mono.just(validBeer));
+
+        webTestClient.get().uri("/api/v1/beer/" + validBeer.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(validBeer.getId().toString())
+                .jsonPath("$.beerName").isEqualTo("Beer1");
+    }
+
+    @Test
+    public void getBeerNotFound() {
+        given(beerService.getById(any(UUID.class), any())).willReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/beer/" + UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void getBeerByUpc() {
+        given(beerService.getByUpc(BeerLoader.BEER_2_UPC)).willReturn(Mono.just(validBeer));
+
+        webTestClient.get().uri("/api/v1/beerUpc/" + BeerLoader.BEER_2_UPC)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.upc").isEqualTo(BeerLoader.BEER_2_UPC);
+    }
+
+    @Test
+    public void getBeerByUnknownUpcIsEmpty() {
+        given(beerService.getByUpc(any())).willReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/beerUpc/0000000000000")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    public void handlePost() {
+        BeerDto beerDto = validBeer;
+        beerDto.setId(null);
+
+        given(beerService.saveNewBeer(any())).willReturn(Mono.just(BeerDto.builder().id(UUID.randomUUID()).beerName("New Beer").build()));
+
+        webTestClient.post().uri("/api/v1/beer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(beerDto)
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    @Test
+    public void handleUpdate() {
+        BeerDto beerDto = validBeer;
+        beerDto.setId(null);
+
+        given(beerService.updateBeer(any(), any())).willReturn(Mono.just(validBeer));
+
+        webTestClient.put().uri("/api/v1/beer/" + UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(beerDto)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}